@@ -0,0 +1,274 @@
+package graph;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Represents an immutable directed graph in compressed sparse row (CSR) form.
+ * <p>
+ * Vertices are identified by dense integer ids from 0 to {@code getVertexCount() - 1}.
+ * All edges are stored in two flat arrays ('targets' and 'weights') grouped by source vertex:
+ * the outgoing edges of vertex {@code v} occupy the positions from {@code edgesStart(v)}
+ * (inclusive) to {@code edgesEnd(v)} (exclusive). Enumerating the neighbors of a vertex is
+ * therefore a scan over consecutive array cells, without hash lookups or object allocation.
+ * A {@link VertexIndex} translates between ids and the original {@link Vertex} objects.
+ * A graph built with {@link #fromArrays(int, int[], int[], int[])} has no vertex objects at all,
+ * only the ids.
+ * <p>
+ * A typical loop over the edges of a vertex looks like this:
+ * <pre>
+ *   for (int e = graph.edgesStart(v); e &lt; graph.edgesEnd(v); e++) {
+ *       int neighbor = graph.getTarget(e);
+ *       int weight = graph.getWeight(e);
+ *   }
+ * </pre>
+ */
+public class CompactGraph {
+
+    // Null if the graph was built from id arrays only
+    private final VertexIndex vertexIndex;
+    // offsets[v] is the position of the first outgoing edge of 'v'; offsets[vertexCount] is the edge count
+    private final int[] offsets;
+    private final int[] targets;
+    private final int[] weights;
+
+    private CompactGraph(VertexIndex vertexIndex, int[] offsets, int[] targets, int[] weights) {
+        this.vertexIndex = vertexIndex;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+    }
+
+    /**
+     * Builds a directed graph from a list of edges. The vertices are numbered in the order
+     * in which they first appear in the edge list. A {@link WeightedEdge} keeps its weight,
+     * while any other {@link Edge} is given a weight of 1.
+     */
+    public static CompactGraph fromEdges(List<? extends Edge> edges) {
+        return fromEdges(null, edges);
+    }
+
+    /**
+     * Builds a directed graph from a list of vertices and a list of edges. The vertices are
+     * numbered in list order, so isolated vertices are included as well. Vertices that only
+     * appear in the edge list are numbered after them.
+     *
+     * @param vertices the vertices of the graph, or null to take them from the edge list only
+     * @param edges    the directed edges of the graph
+     * @throws IllegalArgumentException if the edge list is null
+     */
+    public static CompactGraph fromEdges(List<Vertex> vertices, List<? extends Edge> edges) {
+        return build(vertices, edges, false);
+    }
+
+    /**
+     * Builds an undirected graph: every edge is stored once in each direction with the same weight.
+     *
+     * @param vertices the vertices of the graph, or null to take them from the edge list only
+     * @param edges    the undirected edges of the graph
+     * @throws IllegalArgumentException if the edge list is null
+     */
+    public static CompactGraph fromUndirectedEdges(List<Vertex> vertices, List<? extends Edge> edges) {
+        return build(vertices, edges, true);
+    }
+
+    private static CompactGraph build(List<Vertex> vertices, List<? extends Edge> edges, boolean undirected) {
+        if (edges == null) {
+            throw new IllegalArgumentException("Edge list cannot be null.");
+        }
+        VertexIndex index = new VertexIndex();
+        if (vertices != null) {
+            for (Vertex vertex : vertices) {
+                index.add(vertex);
+            }
+        }
+
+        int edgeCount = undirected ? 2 * edges.size() : edges.size();
+        int[] sources = new int[edgeCount];
+        int[] destinations = new int[edgeCount];
+        int[] edgeWeights = new int[edgeCount];
+        int i = 0;
+        for (Edge edge : edges) {
+            int source = index.add(edge.getSource());
+            int destination = index.add(edge.getDestination());
+            int weight = edge instanceof WeightedEdge ? ((WeightedEdge) edge).getWeight() : 1;
+            sources[i] = source;
+            destinations[i] = destination;
+            edgeWeights[i++] = weight;
+            if (undirected) {
+                sources[i] = destination;
+                destinations[i] = source;
+                edgeWeights[i++] = weight;
+            }
+        }
+        return group(index, index.size(), sources, destinations, edgeWeights);
+    }
+
+    /**
+     * Builds a directed graph whose vertices are only the ids 0 to vertexCount - 1, with every
+     * edge given a weight of 1. Edge i goes from sources[i] to destinations[i]. No {@link Vertex}
+     * objects are involved, so {@link #indexOf(Vertex)} and {@link #vertexAt(int)} cannot be used.
+     *
+     * @throws IllegalArgumentException if the arrays differ in length or an edge has an invalid vertex
+     */
+    public static CompactGraph fromArrays(int vertexCount, int[] sources, int[] destinations) {
+        int[] edgeWeights = new int[sources.length];
+        Arrays.fill(edgeWeights, 1);
+        return fromArrays(vertexCount, sources, destinations, edgeWeights);
+    }
+
+    /**
+     * Builds a directed graph whose vertices are only the ids 0 to vertexCount - 1. Edge i goes
+     * from sources[i] to destinations[i] with weight weights[i]. No {@link Vertex} objects are
+     * involved, so {@link #indexOf(Vertex)} and {@link #vertexAt(int)} cannot be used.
+     *
+     * @throws IllegalArgumentException if the arrays differ in length or an edge has an invalid vertex
+     */
+    public static CompactGraph fromArrays(int vertexCount, int[] sources, int[] destinations, int[] weights) {
+        if (vertexCount < 0) {
+            throw new IllegalArgumentException("Vertex count cannot be negative.");
+        }
+        if (sources.length != destinations.length || sources.length != weights.length) {
+            throw new IllegalArgumentException("Edge arrays must have the same length.");
+        }
+        for (int e = 0; e < sources.length; e++) {
+            if (sources[e] < 0 || sources[e] >= vertexCount || destinations[e] < 0 || destinations[e] >= vertexCount) {
+                throw new IllegalArgumentException("Edge " + e + " has a vertex out of range.");
+            }
+        }
+        return group(null, vertexCount, sources, destinations, weights);
+    }
+
+    /**
+     * Groups the edges given as parallel arrays by source vertex using a counting sort.
+     * Edges with the same source keep their relative order.
+     */
+    private static CompactGraph group(VertexIndex index, int vertexCount, int[] sources, int[] destinations,
+                                      int[] edgeWeights) {
+        int edgeCount = sources.length;
+
+        // Count the outgoing edges of every vertex, shifted by one position
+        int[] offsets = new int[vertexCount + 1];
+        for (int e = 0; e < edgeCount; e++) {
+            offsets[sources[e] + 1]++;
+        }
+        // Prefix sums turn the counts into start positions
+        for (int v = 0; v < vertexCount; v++) {
+            offsets[v + 1] += offsets[v];
+        }
+
+        int[] next = new int[vertexCount];
+        System.arraycopy(offsets, 0, next, 0, vertexCount);
+        int[] targets = new int[edgeCount];
+        int[] weights = new int[edgeCount];
+        for (int e = 0; e < edgeCount; e++) {
+            int position = next[sources[e]]++;
+            targets[position] = destinations[e];
+            weights[position] = edgeWeights[e];
+        }
+        return new CompactGraph(index, offsets, targets, weights);
+    }
+
+    /**
+     * Returns a new graph with every edge reversed. The vertex ids are the same as in this graph.
+     */
+    public CompactGraph reverse() {
+        int edgeCount = getEdgeCount();
+        int[] sources = new int[edgeCount];
+        int[] destinations = new int[edgeCount];
+        for (int v = 0; v < getVertexCount(); v++) {
+            for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+                sources[e] = targets[e];
+                destinations[e] = v;
+            }
+        }
+        return group(vertexIndex, getVertexCount(), sources, destinations, weights);
+    }
+
+    /**
+     * Returns a graph with the same vertices and edges as this one but different weights:
+     * the edge at position e gets weights[e]. The structure arrays are shared, the weights copied.
+     *
+     * @throws IllegalArgumentException if there is not exactly one weight per edge
+     */
+    public CompactGraph withWeights(int[] weights) {
+        if (weights.length != targets.length) {
+            throw new IllegalArgumentException("Expected " + targets.length + " weights, got " + weights.length);
+        }
+        return new CompactGraph(vertexIndex, offsets, targets, weights.clone());
+    }
+
+    /**
+     * Returns the number of vertices in the graph.
+     */
+    public int getVertexCount() {
+        return offsets.length - 1;
+    }
+
+    /**
+     * Returns the number of directed edges in the graph.
+     */
+    public int getEdgeCount() {
+        return targets.length;
+    }
+
+    /**
+     * Returns the position of the first outgoing edge of the specified vertex.
+     */
+    public int edgesStart(int vertex) {
+        return offsets[vertex];
+    }
+
+    /**
+     * Returns the position just after the last outgoing edge of the specified vertex.
+     */
+    public int edgesEnd(int vertex) {
+        return offsets[vertex + 1];
+    }
+
+    /**
+     * Returns the number of outgoing edges of the specified vertex.
+     */
+    public int getOutDegree(int vertex) {
+        return offsets[vertex + 1] - offsets[vertex];
+    }
+
+    /**
+     * Returns the destination vertex of the edge at the specified position.
+     */
+    public int getTarget(int edge) {
+        return targets[edge];
+    }
+
+    /**
+     * Returns the weight of the edge at the specified position.
+     */
+    public int getWeight(int edge) {
+        return weights[edge];
+    }
+
+    /**
+     * Returns the id of the specified vertex, or -1 if the vertex is not in the graph.
+     *
+     * @throws IllegalStateException if the graph was built from id arrays only
+     */
+    public int indexOf(Vertex vertex) {
+        return checkedIndex().indexOf(vertex);
+    }
+
+    /**
+     * Returns the vertex with the specified id.
+     *
+     * @throws IllegalStateException if the graph was built from id arrays only
+     */
+    public Vertex vertexAt(int index) {
+        return checkedIndex().vertexAt(index);
+    }
+
+    private VertexIndex checkedIndex() {
+        if (vertexIndex == null) {
+            throw new IllegalStateException("The graph has vertex ids only, no vertex objects.");
+        }
+        return vertexIndex;
+    }
+}
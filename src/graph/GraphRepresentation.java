@@ -8,6 +8,11 @@ public enum GraphRepresentation {
      * Represents a graph using an adjacency matrix.
      */
     MATRIX,
+    /**
+     * Represents an unweighted graph using an adjacency matrix packed into bits,
+     * one bit per possible edge.
+     */
+    BIT_MATRIX,
     /**
      * Represents a graph using an adjacency list.
      */
@@ -34,11 +34,12 @@ public class VertexImpl implements Vertex {
     }
 
     /**
-     * Returns a hash code value for this vertex.
+     * Returns a hash code value for this vertex. It is the hash code of the label, which
+     * String caches, so no varargs array is allocated as with {@code Objects.hash(label)}.
      */
     @Override
     public int hashCode() {
-        return Objects.hash(label);
+        return label.hashCode();
     }
 
     /**
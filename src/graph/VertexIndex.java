@@ -0,0 +1,108 @@
+package graph;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Assigns dense integer ids (0, 1, 2, ...) to vertices in the order they are added and
+ * translates in both directions: from a vertex to its id with a hash lookup and from an
+ * id back to its vertex with a plain array access.
+ * <p>
+ * Algorithms that work on primitive arrays use the ids internally and only translate
+ * at the boundary, when vertices are passed in or returned to the caller.
+ */
+public class VertexIndex {
+
+    private final Map<Vertex, Integer> indices;
+    private Vertex[] vertices;
+    private int size;
+    private final List<Vertex> view;
+
+    /**
+     * Constructs an empty index.
+     */
+    public VertexIndex() {
+        indices = new HashMap<>();
+        vertices = new Vertex[16];
+        view = new AbstractList<Vertex>() {
+            @Override
+            public Vertex get(int index) {
+                if (index < 0 || index >= size) {
+                    throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+                }
+                return vertices[index];
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    /**
+     * Adds a vertex to the index if it is not already present.
+     *
+     * @return the id of the vertex
+     * @throws IllegalArgumentException if the vertex is null
+     */
+    public int add(Vertex vertex) {
+        if (vertex == null) {
+            throw new IllegalArgumentException("Vertex cannot be null.");
+        }
+        Integer index = indices.get(vertex);
+        if (index != null) {
+            return index;
+        }
+        if (size == vertices.length) {
+            vertices = Arrays.copyOf(vertices, size * 2);
+        }
+        vertices[size] = vertex;
+        indices.put(vertex, size);
+        return size++;
+    }
+
+    /**
+     * Returns the id of the specified vertex, or -1 if the vertex is not in the index.
+     */
+    public int indexOf(Vertex vertex) {
+        Integer index = indices.get(vertex);
+        return index == null ? -1 : index;
+    }
+
+    /**
+     * Returns the vertex with the specified id.
+     *
+     * @throws IllegalArgumentException if no vertex has the id
+     */
+    public Vertex vertexAt(int index) {
+        if (index < 0 || index >= size) {
+            throw new IllegalArgumentException("Index out of bounds");
+        }
+        return vertices[index];
+    }
+
+    /**
+     * Checks whether the vertex is in the index.
+     */
+    public boolean contains(Vertex vertex) {
+        return indices.containsKey(vertex);
+    }
+
+    /**
+     * Returns the number of vertices in the index.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns a read-only view of the vertices in id order. The view also shows vertices added later.
+     */
+    public List<Vertex> asList() {
+        return view;
+    }
+}
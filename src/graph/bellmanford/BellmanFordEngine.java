@@ -0,0 +1,528 @@
+package graph.bellmanford;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Implements the Bellman-Ford algorithm over primitive edge arrays, for graphs whose edges may
+ * have negative weights.
+ * <p>
+ * Vertices are the numbers 0 to vertexCount - 1 and edge i goes from sources[i] to
+ * destinations[i] with weight weights[i]. The arrays are not copied, so they must not be changed
+ * while the engine is used. Distances are kept in a long array and predecessors in an int array,
+ * so a relaxation is a few array accesses instead of several hash lookups. A distance is the weight
+ * of a walk of at most V edges, which always fits in a long, so no sum of int weights can overflow,
+ * however long the paths or negative the cycles. One engine can run any number of searches
+ * from different sources and in any {@link BellmanFordMode}:
+ * <ul>
+ *     <li>{@link BellmanFordMode#CLASSIC} makes up to V - 1 passes over all edges and stops early
+ *     after a pass without changes. A change in pass V proves a negative cycle.</li>
+ *     <li>{@link BellmanFordMode#SPFA} keeps a FIFO queue of vertices whose distance changed and
+ *     relaxes only their outgoing edges. It also counts the edges on the current path to each
+ *     vertex; a path with V edges must repeat a vertex, which proves a negative cycle.</li>
+ *     <li>{@link BellmanFordMode#PARALLEL} makes the classic passes, but each pass relaxes chunks of
+ *     the edge list in parallel. A distance is lowered with a compare-and-set; the thread that
+ *     lowered it then stores the predecessor, unless another thread has lowered it further.</li>
+ * </ul>
+ * A detected negative cycle is taken from the predecessors themselves: walking V steps back from
+ * a vertex that was still lowered by the last pass must end up on a cycle, and every cycle of
+ * predecessors has a negative weight. Every vertex reachable from a negative cycle is marked by a
+ * search over the outgoing edges, which only follows the graph and does not look at distances, and
+ * gets the distance {@link #NEGATIVE_INFINITY}; the distances of all other vertices are still exact.
+ */
+public class BellmanFordEngine {
+
+    // Represents infinity: half of Long.MAX_VALUE to avoid arithmetic overflow
+    public static final long INFINITY = Long.MAX_VALUE / 2;
+    // Distance of the vertices reachable from a negative cycle
+    public static final long NEGATIVE_INFINITY = -INFINITY;
+    public static final int NO_PREDECESSOR = -1;
+    private static final int NO_VERTEX = -1;
+
+    // Number of edges below which a parallel pass is not split further
+    private static final int THRESHOLD = 1 << 14;
+
+    private final int vertexCount;
+    private final int[] sources;
+    private final int[] destinations;
+    private final int[] weights;
+    private final ForkJoinPool pool;
+    // Outgoing edge ids of each vertex as CSR, used by SPFA
+    private final int[] outOffsets;
+    private final int[] outEdges;
+
+    /**
+     * Prepares searches over the specified edges in the common pool.
+     *
+     * @throws IllegalArgumentException if the arrays differ in length or an edge has an invalid vertex
+     */
+    public BellmanFordEngine(int vertexCount, int[] sources, int[] destinations, int[] weights) {
+        this(vertexCount, sources, destinations, weights, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Prepares searches over the specified edges; parallel passes run in the specified pool.
+     *
+     * @throws IllegalArgumentException if the arrays differ in length or an edge has an invalid vertex
+     */
+    public BellmanFordEngine(int vertexCount, int[] sources, int[] destinations, int[] weights, ForkJoinPool pool) {
+        if (vertexCount < 0) {
+            throw new IllegalArgumentException("Vertex count cannot be negative");
+        }
+        if (sources.length != destinations.length || sources.length != weights.length) {
+            throw new IllegalArgumentException("Edge arrays must have the same length");
+        }
+        for (int e = 0; e < sources.length; e++) {
+            if (sources[e] < 0 || sources[e] >= vertexCount || destinations[e] < 0 || destinations[e] >= vertexCount) {
+                throw new IllegalArgumentException("Edge " + e + " has a vertex out of range");
+            }
+        }
+        this.vertexCount = vertexCount;
+        this.sources = sources;
+        this.destinations = destinations;
+        this.weights = weights;
+        this.pool = pool;
+
+        outOffsets = new int[vertexCount + 1];
+        for (int source : sources) {
+            outOffsets[source + 1]++;
+        }
+        for (int v = 0; v < vertexCount; v++) {
+            outOffsets[v + 1] += outOffsets[v];
+        }
+        outEdges = new int[sources.length];
+        int[] next = Arrays.copyOf(outOffsets, vertexCount);
+        for (int e = 0; e < sources.length; e++) {
+            outEdges[next[sources[e]]++] = e;
+        }
+    }
+
+    /**
+     * Returns the number of vertices.
+     */
+    public int getVertexCount() {
+        return vertexCount;
+    }
+
+    /**
+     * Returns the number of edges.
+     */
+    public int getEdgeCount() {
+        return sources.length;
+    }
+
+    /**
+     * Computes the shortest paths from the source vertex.
+     *
+     * @throws IllegalArgumentException if the source is not a vertex number
+     */
+    public Result run(int source, BellmanFordMode mode) {
+        if (source < 0 || source >= vertexCount) {
+            throw new IllegalArgumentException("Source is not a vertex: " + source);
+        }
+        switch (mode) {
+            case CLASSIC:
+                return runClassic(source);
+            case SPFA:
+                return runSpfa(source);
+            case PARALLEL:
+                return runParallel(source);
+            default:
+                throw new IllegalArgumentException("Unknown Bellman-Ford mode: " + mode);
+        }
+    }
+
+    private Result runClassic(int source) {
+        long[] distances = new long[vertexCount];
+        int[] predecessors = new int[vertexCount];
+        Arrays.fill(distances, INFINITY);
+        Arrays.fill(predecessors, NO_PREDECESSOR);
+        distances[source] = 0;
+
+        // Pass V only runs if pass V - 1 still changed something; a change there proves a negative cycle
+        int passes = 0;
+        int lastRelaxed = source;
+        while (lastRelaxed != NO_VERTEX && passes < vertexCount) {
+            lastRelaxed = NO_VERTEX;
+            passes++;
+            for (int e = 0; e < sources.length; e++) {
+                long distU = distances[sources[e]];
+                if (distU != INFINITY && distU + weights[e] < distances[destinations[e]]) {
+                    distances[destinations[e]] = distU + weights[e];
+                    predecessors[destinations[e]] = sources[e];
+                    lastRelaxed = destinations[e];
+                }
+            }
+        }
+        return finishPasses(source, distances, predecessors, lastRelaxed, passes);
+    }
+
+    // Builds the result of the classic and parallel modes; 'lastRelaxed' is a vertex lowered by pass V, if any
+    private Result finishPasses(int source, long[] distances, int[] predecessors, int lastRelaxed, int passes) {
+        if (lastRelaxed == NO_VERTEX) {
+            return new Result(source, distances, predecessors, null, new int[0], passes);
+        }
+        // Every negative cycle has an edge that can still be relaxed, and only vertices reachable
+        // from a negative cycle can still be lowered, so these vertices seed the marking
+        int[] seeds = new int[vertexCount];
+        int seedCount = 0;
+        boolean[] unbounded = new boolean[vertexCount];
+        for (int e = 0; e < sources.length; e++) {
+            int v = destinations[e];
+            long distU = distances[sources[e]];
+            if (!unbounded[v] && distU != INFINITY && distU + weights[e] < distances[v]) {
+                unbounded[v] = true;
+                seeds[seedCount++] = v;
+            }
+        }
+        int[] cycle = findCycle(predecessors, lastRelaxed);
+        for (int i = 0; cycle == null && i < seedCount; i++) {
+            cycle = findCycle(predecessors, seeds[i]);
+        }
+        markUnbounded(seeds, seedCount, unbounded, distances);
+        return new Result(source, distances, predecessors, unbounded, cycle == null ? new int[0] : cycle, passes);
+    }
+
+    private Result runSpfa(int source) {
+        long[] distances = new long[vertexCount];
+        int[] predecessors = new int[vertexCount];
+        Arrays.fill(distances, INFINITY);
+        Arrays.fill(predecessors, NO_PREDECESSOR);
+        // depths[v] is the number of edges on the current path to v
+        int[] depths = new int[vertexCount];
+        boolean[] inQueue = new boolean[vertexCount];
+        // Every vertex is at most once in the queue, so a ring buffer of V slots is enough
+        int[] queue = new int[vertexCount];
+        int head = 0;
+        int size = 0;
+
+        // Vertices reachable from a found negative cycle are left out of the rest of the search
+        boolean[] unbounded = new boolean[vertexCount];
+        int[] stack = new int[vertexCount];
+        int[] cycle = null;
+
+        distances[source] = 0;
+        queue[0] = source;
+        inQueue[source] = true;
+        size = 1;
+        int dequeued = 0;
+        boolean negativeCycle = false;
+
+        while (size > 0) {
+            int u = queue[head];
+            head = head + 1 == vertexCount ? 0 : head + 1;
+            size--;
+            inQueue[u] = false;
+            if (unbounded[u]) {
+                continue;
+            }
+            dequeued++;
+            for (int i = outOffsets[u]; i < outOffsets[u + 1]; i++) {
+                int e = outEdges[i];
+                int v = destinations[e];
+                long candidate = distances[u] + weights[e];
+                if (unbounded[v] || candidate >= distances[v]) {
+                    continue;
+                }
+                distances[v] = candidate;
+                predecessors[v] = u;
+                depths[v] = depths[u] + 1;
+                // A path of V edges repeats a vertex, and a repeated vertex was lowered by a negative cycle
+                if (depths[v] >= vertexCount) {
+                    negativeCycle = true;
+                    int[] found = findCycle(predecessors, v);
+                    if (found != null) {
+                        if (cycle == null) {
+                            cycle = found;
+                        }
+                        // The walk from v to the cycle passed through u, so both are unbounded now
+                        for (int c = 0; c < found.length; c++) {
+                            unbounded[found[c]] = true;
+                        }
+                        markUnbounded(found, found.length, unbounded, distances, stack);
+                        break;
+                    }
+                }
+                if (!inQueue[v]) {
+                    int tail = head + size;
+                    queue[tail >= vertexCount ? tail - vertexCount : tail] = v;
+                    size++;
+                    inQueue[v] = true;
+                }
+            }
+        }
+        return new Result(source, distances, predecessors, negativeCycle ? unbounded : null,
+                cycle == null ? new int[0] : cycle, dequeued);
+    }
+
+    private Result runParallel(int source) {
+        AtomicLongArray distanceStates = new AtomicLongArray(vertexCount);
+        AtomicLongArray predecessorStates = new AtomicLongArray(vertexCount);
+        for (int v = 0; v < vertexCount; v++) {
+            distanceStates.set(v, INFINITY);
+            predecessorStates.set(v, pack(0, NO_PREDECESSOR));
+        }
+        distanceStates.set(source, 0);
+
+        int passes = 0;
+        int lastRelaxed = source;
+        while (lastRelaxed != NO_VERTEX && passes < vertexCount) {
+            passes++;
+            RelaxTask task = new RelaxTask(distanceStates, predecessorStates, 0, sources.length);
+            lastRelaxed = sources.length <= THRESHOLD ? task.compute() : pool.invoke(task);
+        }
+
+        long[] distances = new long[vertexCount];
+        int[] predecessors = new int[vertexCount];
+        for (int v = 0; v < vertexCount; v++) {
+            distances[v] = distanceStates.get(v);
+            predecessors[v] = predecessorOf(predecessorStates.get(v));
+        }
+        return finishPasses(source, distances, predecessors, lastRelaxed, passes);
+    }
+
+    /**
+     * Follows the predecessors from the start vertex and returns the cycle it runs into, in edge
+     * order, or null if the walk reaches a vertex without a predecessor.
+     */
+    private int[] findCycle(int[] predecessors, int start) {
+        int v = start;
+        // A walk of V steps that never stops must already be on a cycle
+        for (int i = 0; i < vertexCount; i++) {
+            v = predecessors[v];
+            if (v == NO_PREDECESSOR) {
+                return null;
+            }
+        }
+        int length = 1;
+        for (int u = predecessors[v]; u != v; u = predecessors[u]) {
+            length++;
+        }
+        // Predecessors lead backwards, so the cycle is filled from its end
+        int[] cycle = new int[length];
+        for (int i = length - 1; i >= 0; i--) {
+            cycle[i] = v;
+            v = predecessors[v];
+        }
+        return cycle;
+    }
+
+    private void markUnbounded(int[] seeds, int seedCount, boolean[] unbounded, long[] distances) {
+        markUnbounded(seeds, seedCount, unbounded, distances, new int[vertexCount]);
+    }
+
+    /**
+     * Sets the distance of the seeds and of every vertex reachable from them to negative infinity.
+     * The seeds must already be marked as unbounded; 'stack' needs room for every vertex.
+     */
+    private void markUnbounded(int[] seeds, int seedCount, boolean[] unbounded, long[] distances, int[] stack) {
+        int top = 0;
+        for (int i = 0; i < seedCount; i++) {
+            stack[top++] = seeds[i];
+        }
+        while (top > 0) {
+            int u = stack[--top];
+            distances[u] = NEGATIVE_INFINITY;
+            for (int i = outOffsets[u]; i < outOffsets[u + 1]; i++) {
+                int v = destinations[outEdges[i]];
+                if (!unbounded[v]) {
+                    unbounded[v] = true;
+                    stack[top++] = v;
+                }
+            }
+        }
+    }
+
+    // A predecessor state holds a version in the upper half, which every store increments
+    private static long pack(int version, int predecessor) {
+        return ((long) version << 32) | (predecessor & 0xFFFFFFFFL);
+    }
+
+    private static int versionOf(long state) {
+        return (int) (state >>> 32);
+    }
+
+    private static int predecessorOf(long state) {
+        return (int) state;
+    }
+
+    /**
+     * Relaxes a range of the edge list, splitting it in halves while it is larger than the threshold.
+     * Returns a vertex whose distance was lowered, or {@link #NO_VERTEX} if there is none.
+     */
+    private class RelaxTask extends RecursiveTask<Integer> {
+        private static final long serialVersionUID = 1L;
+
+        private final AtomicLongArray distanceStates;
+        private final AtomicLongArray predecessorStates;
+        private final int start;
+        private final int end;
+
+        RelaxTask(AtomicLongArray distanceStates, AtomicLongArray predecessorStates, int start, int end) {
+            this.distanceStates = distanceStates;
+            this.predecessorStates = predecessorStates;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected Integer compute() {
+            if (end - start > THRESHOLD) {
+                int middle = (start + end) >>> 1;
+                RelaxTask left = new RelaxTask(distanceStates, predecessorStates, start, middle);
+                left.fork();
+                int rightRelaxed = new RelaxTask(distanceStates, predecessorStates, middle, end).compute();
+                int leftRelaxed = left.join();
+                return leftRelaxed != NO_VERTEX ? leftRelaxed : rightRelaxed;
+            }
+            int relaxed = NO_VERTEX;
+            for (int e = start; e < end; e++) {
+                long distU = distanceStates.get(sources[e]);
+                if (distU == INFINITY) {
+                    continue;
+                }
+                long candidate = distU + weights[e];
+                int v = destinations[e];
+                long current = distanceStates.get(v);
+                // Retry until the candidate is stored or another thread stored something smaller
+                while (candidate < current) {
+                    if (distanceStates.compareAndSet(v, current, candidate)) {
+                        storePredecessor(v, sources[e], candidate);
+                        relaxed = v;
+                        break;
+                    }
+                    current = distanceStates.get(v);
+                }
+            }
+            return relaxed;
+        }
+
+        /**
+         * Stores the predecessor that gave v the specified distance, unless v already has a
+         * smaller one. The state is read before the distance is checked, so a thread that lowers
+         * the distance afterwards also changes the version, and a late store of a stale
+         * predecessor fails its compare-and-set.
+         */
+        private void storePredecessor(int v, int predecessor, long distance) {
+            while (true) {
+                long state = predecessorStates.get(v);
+                if (distanceStates.get(v) != distance) {
+                    return;
+                }
+                if (predecessorStates.compareAndSet(v, state, pack(versionOf(state) + 1, predecessor))) {
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Holds the outcome of one search: the distances and predecessors indexed by vertex number,
+     * a negative cycle reachable from the source if there is one, and how much work was done.
+     */
+    public static class Result {
+        private final int source;
+        private final long[] distances;
+        private final int[] predecessors;
+        // unbounded[v] is true if v is reachable from a negative cycle; null if there is no such cycle
+        private final boolean[] unbounded;
+        private final int[] cycle;
+        private final int iterations;
+
+        Result(int source, long[] distances, int[] predecessors, boolean[] unbounded, int[] cycle, int iterations) {
+            this.source = source;
+            this.distances = distances;
+            this.predecessors = predecessors;
+            this.unbounded = unbounded;
+            this.cycle = cycle;
+            this.iterations = iterations;
+        }
+
+        /**
+         * Returns the source vertex.
+         */
+        public int getSource() {
+            return source;
+        }
+
+        /**
+         * Returns true if a negative cycle is reachable from the source. Paths through the cycle can
+         * be made arbitrarily short, so the vertices reachable from it have no shortest distance.
+         */
+        public boolean hasNegativeCycle() {
+            return unbounded != null;
+        }
+
+        /**
+         * Returns true if the vertex is reachable from a negative cycle, so it has no shortest distance.
+         */
+        public boolean isUnbounded(int vertex) {
+            return unbounded != null && unbounded[vertex];
+        }
+
+        /**
+         * Returns the vertices of a negative cycle reachable from the source, each with an edge to the
+         * next and the last with an edge to the first, or an empty array if there is no such cycle.
+         */
+        public int[] getNegativeCycle() {
+            return cycle.clone();
+        }
+
+        /**
+         * Returns the distance from the source to the vertex, {@link #INFINITY} if it is not reachable,
+         * or {@link #NEGATIVE_INFINITY} if it is reachable from a negative cycle.
+         */
+        public long getDistance(int vertex) {
+            return isUnbounded(vertex) ? NEGATIVE_INFINITY : distances[vertex];
+        }
+
+        /**
+         * Returns the vertex before the specified one on its path, or {@link #NO_PREDECESSOR}.
+         */
+        public int getPredecessor(int vertex) {
+            return predecessors[vertex];
+        }
+
+        /**
+         * Returns a copy of all distances, indexed by vertex number.
+         */
+        public long[] getDistances() {
+            return distances.clone();
+        }
+
+        /**
+         * Returns the number of passes over the edge list, or for SPFA the number of vertices
+         * taken from the queue.
+         */
+        public int getIterations() {
+            return iterations;
+        }
+
+        /**
+         * Returns the vertices of the shortest path from the source to the target,
+         * or an empty array if the target is not reachable.
+         *
+         * @throws IllegalStateException if the target is reachable from a negative cycle,
+         *                               so it has no shortest path
+         */
+        public int[] getPathTo(int target) {
+            if (isUnbounded(target)) {
+                throw new IllegalStateException("No shortest path to a vertex reachable from a negative cycle");
+            }
+            if (distances[target] == INFINITY) {
+                return new int[0];
+            }
+            int length = 0;
+            for (int v = target; v != NO_PREDECESSOR; v = predecessors[v]) {
+                length++;
+            }
+            int[] path = new int[length];
+            for (int v = target; v != NO_PREDECESSOR; v = predecessors[v]) {
+                path[--length] = v;
+            }
+            return path;
+        }
+    }
+}
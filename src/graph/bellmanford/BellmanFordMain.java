@@ -27,7 +27,7 @@ public class BellmanFordMain {
      * @param vertices list of all vertices in the graph
      * @param edges    list of all directed edges in the graph (may include negative weights)
      * @param source   the starting vertex
-     * @return a {@link BellmanFordResult} containing distances, predecessors, and a negative-cycle flag
+     * @return a {@link BellmanFordResult} containing distances, predecessors, and a negative cycle if there is one
      * @throws IllegalArgumentException if the vertex or edge list is null or empty, or if the source is not in the graph
      */
     private static BellmanFordResult bellmanFord(List<Vertex> vertices, List<WeightedEdge> edges, Vertex source) {
@@ -82,36 +82,67 @@ public class BellmanFordMain {
         // Step 3: Detect negative weight cycles.
         // Only run if the loop completed all V-1 passes with updates still happening —
         // meaning distances never stabilised, which is the hallmark of a negative cycle.
-        boolean hasNegativeCycle = false;
+        // The relaxation is applied, so the predecessors of the relaxed vertex lead into the cycle.
+        Vertex relaxed = null;
         if (updated) {
             for (WeightedEdge edge : edges) {
                 Vertex u = edge.getSource();
                 Vertex v = edge.getDestination();
                 if (distances.get(u) != INFINITY && distances.get(u) + edge.getWeight() < distances.get(v)) {
-                    hasNegativeCycle = true;
+                    distances.put(v, distances.get(u) + edge.getWeight());
+                    predecessors.put(v, u);
+                    relaxed = v;
                     break;
                 }
             }
         }
 
-        return new BellmanFordResult(distances, predecessors, hasNegativeCycle);
+        List<Vertex> negativeCycle = relaxed == null ? Collections.<Vertex>emptyList()
+                : getCycle(predecessors, relaxed, vertexCount);
+        return new BellmanFordResult(distances, predecessors, negativeCycle);
+    }
+
+    /**
+     * Extracts the negative cycle that the predecessor chain of a vertex relaxed in the V-th pass runs into.
+     * After V steps back the walk is certainly on the cycle; from there it is followed once around.
+     *
+     * @return the cycle's vertices in edge order, with the first vertex repeated at the end
+     */
+    private static List<Vertex> getCycle(Map<Vertex, Vertex> predecessors, Vertex relaxed, int vertexCount) {
+        Vertex onCycle = relaxed;
+        for (int i = 0; i < vertexCount; i++) {
+            onCycle = predecessors.get(onCycle);
+        }
+        List<Vertex> cycle = new ArrayList<>();
+        cycle.add(onCycle);
+        Vertex current = predecessors.get(onCycle);
+        while (current != onCycle) {
+            cycle.add(current);
+            current = predecessors.get(current);
+        }
+        cycle.add(onCycle);
+        Collections.reverse(cycle);
+        return cycle;
     }
 
     /**
      * Holds the output of the Bellman-Ford algorithm: shortest distances from the source,
-     * the predecessor map for path reconstruction, and a flag indicating a negative cycle.
+     * the predecessor map for path reconstruction, and the vertices of a negative cycle
+     * (empty if there is none).
      */
     private static class BellmanFordResult {
         final Map<Vertex, Integer> distances;
         final Map<Vertex, Vertex> predecessors;
         final boolean hasNegativeCycle;
+        final List<Vertex> negativeCycle;
 
         BellmanFordResult(Map<Vertex, Integer> distances,
                           Map<Vertex, Vertex> predecessors,
-                          boolean hasNegativeCycle) {
+                          List<Vertex> negativeCycle) {
             this.distances = distances;
             this.predecessors = predecessors;
-            this.hasNegativeCycle = hasNegativeCycle;
+            this.hasNegativeCycle = !negativeCycle.isEmpty();
+            this.negativeCycle = negativeCycle;
         }
     }
 
@@ -139,6 +170,8 @@ public class BellmanFordMain {
         demonstrateNormalGraph();
         System.out.println();
         demonstrateNegativeCycleGraph();
+        System.out.println();
+        demonstrateEngine();
     }
 
     /**
@@ -227,8 +260,39 @@ public class BellmanFordMain {
 
         if (result.hasNegativeCycle) {
             System.out.println("Negative cycle detected — no finite shortest paths exist.");
+            System.out.println("  Cycle: " + result.negativeCycle);
         } else {
             System.out.println("No negative cycle found.");
         }
     }
+
+    /**
+     * Runs the graph of the first example through {@link BellmanFordEngine} in every mode.
+     * The vertices A to F are numbered 0 to 5.
+     */
+    private static void demonstrateEngine() {
+        System.out.println("=== Example 3: Bellman-Ford engine over edge arrays ===");
+
+        int[] sources = {0, 0, 1, 2, 3, 4, 4};
+        int[] destinations = {1, 3, 2, 5, 4, 5, 1};
+        int[] weights = {5, 2, 5, 10, 5, 7, -10};
+        BellmanFordEngine engine = new BellmanFordEngine(6, sources, destinations, weights);
+
+        for (BellmanFordMode mode : BellmanFordMode.values()) {
+            BellmanFordEngine.Result result = engine.run(0, mode);
+            System.out.println("  " + mode + ": distances=" + Arrays.toString(result.getDistances())
+                    + ", path to F=" + Arrays.toString(result.getPathTo(5))
+                    + ", iterations=" + result.getIterations());
+        }
+
+        // The graph of the second example, plus a vertex G (6) that only A reaches
+        int[] cycleSources = {0, 0, 1, 2, 3, 5, 4, 0};
+        int[] cycleDestinations = {1, 3, 2, 5, 4, 4, 1, 6};
+        int[] cycleWeights = {5, 2, 3, 4, 5, 2, -15, 1};
+        BellmanFordEngine.Result result = new BellmanFordEngine(7, cycleSources, cycleDestinations, cycleWeights)
+                .run(0, BellmanFordMode.SPFA);
+        System.out.println("  With a negative cycle: cycle=" + Arrays.toString(result.getNegativeCycle())
+                + ", distances=" + Arrays.toString(result.getDistances())
+                + " (" + BellmanFordEngine.NEGATIVE_INFINITY + " is negative infinity)");
+    }
 }
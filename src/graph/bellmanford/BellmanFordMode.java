@@ -0,0 +1,20 @@
+package graph.bellmanford;
+
+/**
+ * Enumerates the ways {@link BellmanFordEngine} can relax the edges.
+ */
+public enum BellmanFordMode {
+    /**
+     * Up to V - 1 passes over the whole edge list, stopping after a pass that changes nothing.
+     */
+    CLASSIC,
+    /**
+     * The queue-based variant (Shortest Path Faster Algorithm): only the edges of vertices whose
+     * distance changed are relaxed again. Usually far fewer relaxations than the classic passes.
+     */
+    SPFA,
+    /**
+     * Classic passes in which the edge list is split into chunks that are relaxed in parallel.
+     */
+    PARALLEL
+}
@@ -0,0 +1,52 @@
+package graph.dijkstra;
+
+import graph.Vertex;
+import graph.dijkstra.graph.DijkstraGraph;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Represents the outcome of a single {@link AStarSearch} query: the path found, its length,
+ * and the number of vertices the search settled to find it.
+ */
+public class AStarResult {
+
+    private final List<Vertex> path;
+    private final int distance;
+    private final int settledCount;
+
+    AStarResult(List<Vertex> path, int distance, int settledCount) {
+        this.path = Collections.unmodifiableList(path);
+        this.distance = distance;
+        this.settledCount = settledCount;
+    }
+
+    /**
+     * Returns the vertices of the path from source to target, or an empty list if the target is not reachable.
+     */
+    public List<Vertex> getPath() {
+        return path;
+    }
+
+    /**
+     * Returns the length of the path, or {@link DijkstraGraph#INFINITY} if the target is not reachable.
+     */
+    public int getDistance() {
+        return distance;
+    }
+
+    /**
+     * Returns true if a path from the source to the target was found.
+     */
+    public boolean isReachable() {
+        return distance != DijkstraGraph.INFINITY;
+    }
+
+    /**
+     * Returns the number of times a vertex was removed from the priority queue and expanded.
+     */
+    public int getSettledCount() {
+        return settledCount;
+    }
+}
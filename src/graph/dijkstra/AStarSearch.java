@@ -0,0 +1,118 @@
+package graph.dijkstra;
+
+import graph.Vertex;
+import graph.dijkstra.graph.DijkstraGraph;
+import graph.dijkstra.graph.EdgeCursor;
+
+import java.util.*;
+
+/**
+ * Implements the A* search for the shortest path between two vertices of a graph
+ * with non-negative edge weights.
+ * <p>
+ * A* works like Dijkstra's algorithm, but it orders the priority queue by the distance from the
+ * source plus a {@link Heuristic} estimate of the distance that remains to the target. Vertices
+ * that lead away from the target get large keys and are expanded late or never, so with a good
+ * heuristic the search settles only a small part of the graph. The search stops when the target
+ * is removed from the queue.
+ * <p>
+ * If the heuristic is admissible but not consistent, a vertex can be reached by a shorter path
+ * after it was expanded; it is then put back into the queue and expanded again, so the result
+ * stays exact. Each expansion is counted in {@link AStarResult#getSettledCount()}.
+ */
+public class AStarSearch {
+
+    private static final int NO_PREDECESSOR = -1;
+    private static final int NOT_ESTIMATED = -1;
+
+    private final Heuristic heuristic;
+
+    /**
+     * Constructs the search with the specified heuristic.
+     *
+     * @throws IllegalArgumentException if the heuristic is null
+     */
+    public AStarSearch(Heuristic heuristic) {
+        if (heuristic == null) {
+            throw new IllegalArgumentException("Heuristic cannot be null.");
+        }
+        this.heuristic = heuristic;
+    }
+
+    /**
+     * Finds the shortest path from the source vertex to the target vertex.
+     *
+     * @throws IllegalArgumentException if the source or target is not in the graph
+     */
+    public AStarResult search(DijkstraGraph graph, Vertex source, Vertex target) {
+        List<Vertex> vertices = graph.getVertices();
+        int sourceIndex = graph.indexOf(source);
+        int targetIndex = graph.indexOf(target);
+        if (sourceIndex == -1 || targetIndex == -1) {
+            throw new IllegalArgumentException("Source or target vertex is not in the graph");
+        }
+
+        int vertexCount = vertices.size();
+        int[] distances = new int[vertexCount];
+        int[] predecessors = new int[vertexCount];
+        // Estimates are computed once per vertex, when it is first reached
+        int[] estimates = new int[vertexCount];
+        Arrays.fill(distances, DijkstraGraph.INFINITY);
+        Arrays.fill(predecessors, NO_PREDECESSOR);
+        Arrays.fill(estimates, NOT_ESTIMATED);
+
+        IndexedBinaryHeap pQueue = new IndexedBinaryHeap(vertexCount);
+        EdgeCursor edges = graph.edgeCursor();
+        distances[sourceIndex] = 0;
+        pQueue.add(sourceIndex, estimate(vertices, estimates, sourceIndex, target));
+        int settledCount = 0;
+
+        while (!pQueue.isEmpty()) {
+            int current = pQueue.pollSmallest();
+            settledCount++;
+            if (current == targetIndex) {
+                break;
+            }
+            edges.moveTo(current);
+            while (edges.next()) {
+                int neighborIndex = edges.target();
+                int alternativeDistance = distances[current] + edges.weight();
+                if (alternativeDistance >= distances[neighborIndex]) {
+                    continue;
+                }
+                int remaining = estimate(vertices, estimates, neighborIndex, target);
+                if (remaining >= DijkstraGraph.INFINITY) {
+                    continue; // The heuristic proves the target cannot be reached from here
+                }
+                distances[neighborIndex] = alternativeDistance;
+                predecessors[neighborIndex] = current;
+                int key = alternativeDistance + remaining;
+                if (pQueue.contains(neighborIndex)) {
+                    pQueue.decreaseKey(neighborIndex, key);
+                } else {
+                    pQueue.add(neighborIndex, key); // Reached for the first time, or reopened
+                }
+            }
+        }
+
+        List<Vertex> path = new ArrayList<>();
+        if (distances[targetIndex] != DijkstraGraph.INFINITY) {
+            for (int v = targetIndex; v != NO_PREDECESSOR; v = predecessors[v]) {
+                path.add(vertices.get(v));
+            }
+            Collections.reverse(path);
+        }
+        return new AStarResult(path, distances[targetIndex], settledCount);
+    }
+
+    private int estimate(List<Vertex> vertices, int[] estimates, int index, Vertex target) {
+        if (estimates[index] == NOT_ESTIMATED) {
+            int value = heuristic.estimate(vertices.get(index), target);
+            if (value < 0) {
+                throw new IllegalStateException("Heuristic returned a negative estimate: " + value);
+            }
+            estimates[index] = Math.min(value, DijkstraGraph.INFINITY);
+        }
+        return estimates[index];
+    }
+}
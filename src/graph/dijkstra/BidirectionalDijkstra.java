@@ -0,0 +1,196 @@
+package graph.dijkstra;
+
+import graph.CompactGraph;
+import graph.Vertex;
+import graph.dijkstra.graph.DijkstraGraph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Answers point-to-point shortest-path queries with a bidirectional Dijkstra search
+ * over a {@link CompactGraph} with non-negative edge weights.
+ * <p>
+ * One search grows from the source along outgoing edges, the other from the target along
+ * incoming edges (the edges of the reverse graph), always advancing the one whose next vertex
+ * is closer. Every edge that connects the two searched regions is a candidate for the shortest
+ * path. The query stops once the smallest distances in the two queues add up to at least the
+ * best candidate found, because no path through unsettled vertices can be shorter. Both searches
+ * together usually settle far fewer vertices than a single search from the source.
+ * <p>
+ * The reverse graph and the working arrays are created once and reused by every query, and only
+ * the entries touched by a query are reset afterwards. Therefore an instance must not be used by
+ * several threads at the same time.
+ */
+public class BidirectionalDijkstra {
+
+    private static final int NO_VERTEX = -1;
+
+    private final CompactGraph forward;
+    private final CompactGraph backward;
+
+    // Working state of both searches: index 0 is the forward search, index 1 the backward search
+    private final int[][] distances;
+    private final int[][] predecessors;
+    private final IndexedBinaryHeap[] queues;
+    // Vertices whose entries were changed during the current query
+    private final int[] touched;
+    private int touchedCount;
+
+    private int lastDistance;
+    private int settledCount;
+
+    /**
+     * Prepares queries over the specified graph and builds its reverse graph.
+     *
+     * @throws IllegalArgumentException if the graph has a negative edge weight
+     */
+    public BidirectionalDijkstra(CompactGraph graph) {
+        for (int e = 0; e < graph.getEdgeCount(); e++) {
+            if (graph.getWeight(e) < 0) {
+                throw new IllegalArgumentException("Edge weight cannot be negative.");
+            }
+        }
+        forward = graph;
+        backward = graph.reverse();
+        int vertexCount = graph.getVertexCount();
+        distances = new int[2][vertexCount];
+        predecessors = new int[2][vertexCount];
+        for (int side = 0; side < 2; side++) {
+            Arrays.fill(distances[side], DijkstraGraph.INFINITY);
+            Arrays.fill(predecessors[side], NO_VERTEX);
+        }
+        int capacity = Math.max(vertexCount, 1);
+        queues = new IndexedBinaryHeap[]{new IndexedBinaryHeap(capacity), new IndexedBinaryHeap(capacity)};
+        touched = new int[vertexCount];
+    }
+
+    /**
+     * Computes the shortest path from the source to the target.
+     *
+     * @return the vertices of the path from source to target, or an empty list if the target is not reachable
+     * @throws IllegalArgumentException if the source or target is not in the graph
+     */
+    public List<Vertex> shortestPath(Vertex source, Vertex target) {
+        int sourceIndex = forward.indexOf(source);
+        int targetIndex = forward.indexOf(target);
+        if (sourceIndex == -1 || targetIndex == -1) {
+            throw new IllegalArgumentException("Source or target vertex is not in the graph");
+        }
+        int meeting = search(sourceIndex, targetIndex);
+        List<Vertex> path = new ArrayList<>();
+        if (meeting != NO_VERTEX) {
+            // Walk from the meeting vertex back to the source, then forward to the target
+            for (int v = meeting; v != NO_VERTEX; v = predecessors[0][v]) {
+                path.add(forward.vertexAt(v));
+            }
+            Collections.reverse(path);
+            for (int v = predecessors[1][meeting]; v != NO_VERTEX; v = predecessors[1][v]) {
+                path.add(forward.vertexAt(v));
+            }
+        }
+        reset();
+        return path;
+    }
+
+    /**
+     * Computes the length of the shortest path from the source to the target.
+     *
+     * @return the distance, or {@link DijkstraGraph#INFINITY} if the target is not reachable
+     * @throws IllegalArgumentException if either id is out of range
+     */
+    public int distance(int source, int target) {
+        int vertexCount = forward.getVertexCount();
+        if (source < 0 || source >= vertexCount || target < 0 || target >= vertexCount) {
+            throw new IllegalArgumentException("Source or target vertex is not in the graph");
+        }
+        search(source, target);
+        reset();
+        return lastDistance;
+    }
+
+    /**
+     * Returns the length of the path found by the last query, or {@link DijkstraGraph#INFINITY}.
+     */
+    public int getLastDistance() {
+        return lastDistance;
+    }
+
+    /**
+     * Returns the number of vertices settled by both searches together during the last query.
+     */
+    public int getLastSettledCount() {
+        return settledCount;
+    }
+
+    // Runs both searches and returns the vertex where the shortest path crosses over, or NO_VERTEX
+    private int search(int source, int target) {
+        lastDistance = DijkstraGraph.INFINITY;
+        settledCount = 0;
+        relax(0, source, 0, NO_VERTEX);
+        relax(1, target, 0, NO_VERTEX);
+        int best = DijkstraGraph.INFINITY;
+        int meeting = NO_VERTEX;
+        if (source == target) {
+            best = 0;
+            meeting = source;
+        }
+
+        while (!queues[0].isEmpty() && !queues[1].isEmpty()) {
+            int forwardTop = distances[0][queues[0].peekSmallest()];
+            int backwardTop = distances[1][queues[1].peekSmallest()];
+            if (forwardTop + backwardTop >= best) {
+                break; // No unsettled path can beat the best one found
+            }
+            int side = forwardTop <= backwardTop ? 0 : 1;
+            CompactGraph graph = side == 0 ? forward : backward;
+            int vertex = queues[side].pollSmallest();
+            settledCount++;
+
+            for (int e = graph.edgesStart(vertex); e < graph.edgesEnd(vertex); e++) {
+                int neighbor = graph.getTarget(e);
+                int candidate = distances[side][vertex] + graph.getWeight(e);
+                if (candidate < distances[side][neighbor]) {
+                    relax(side, neighbor, candidate, vertex);
+                }
+                // The edge joins both searches: a complete path is known
+                int other = distances[1 - side][neighbor];
+                if (other != DijkstraGraph.INFINITY && distances[side][neighbor] + other < best) {
+                    best = distances[side][neighbor] + other;
+                    meeting = neighbor;
+                }
+            }
+        }
+        lastDistance = best;
+        return meeting;
+    }
+
+    private void relax(int side, int vertex, int distance, int predecessor) {
+        if (distances[0][vertex] == DijkstraGraph.INFINITY && distances[1][vertex] == DijkstraGraph.INFINITY) {
+            touched[touchedCount++] = vertex;
+        }
+        distances[side][vertex] = distance;
+        predecessors[side][vertex] = predecessor;
+        if (queues[side].contains(vertex)) {
+            queues[side].decreaseKey(vertex, distance);
+        } else {
+            queues[side].add(vertex, distance);
+        }
+    }
+
+    // Restores the working arrays for the next query, visiting only the touched entries
+    private void reset() {
+        for (int i = 0; i < touchedCount; i++) {
+            int vertex = touched[i];
+            for (int side = 0; side < 2; side++) {
+                distances[side][vertex] = DijkstraGraph.INFINITY;
+                predecessors[side][vertex] = NO_VERTEX;
+            }
+        }
+        touchedCount = 0;
+        queues[0].clear();
+        queues[1].clear();
+    }
+}
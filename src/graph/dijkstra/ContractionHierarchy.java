@@ -0,0 +1,252 @@
+package graph.dijkstra;
+
+import graph.Vertex;
+import graph.VertexIndex;
+import graph.dijkstra.graph.DijkstraGraph;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Represents a contraction hierarchy: a preprocessed form of a static graph that answers
+ * shortest-path queries by searching only a tiny part of it.
+ * <p>
+ * Every vertex gets a rank, the order in which it was contracted, and the graph is extended with
+ * shortcut edges that preserve all shortest distances when lower-ranked vertices are left out.
+ * A shortest path can then always be found as a path that first only goes up in rank from the
+ * source and then only goes down to the target. {@link ContractionHierarchyQuery} finds it with
+ * two small searches that both only follow edges towards higher ranks.
+ * <p>
+ * Each shortcut remembers the two edges it replaces, so a path made of shortcuts can be expanded
+ * back into the edges of the original graph. A hierarchy is immutable and can be shared by any
+ * number of queries and threads. It can be written with {@link #save(DataOutput)} and read back
+ * with {@link #load(DataInput, List)}; vertices are not stored, only their positions in
+ * {@link DijkstraGraph#getVertices()}, so the same list of vertices must be supplied when loading.
+ */
+public class ContractionHierarchy {
+
+    private static final int FORMAT_MAGIC = 0x43484931; // "CHI1"
+    static final int NONE = -1;
+
+    private final VertexIndex vertexIndex;
+    private final int[] ranks;
+    // Edges of the hierarchy: the original edges and the shortcuts, each with the two edges it replaces
+    private final int[] sources;
+    private final int[] targets;
+    private final int[] weights;
+    private final int[] firstHalves;
+    private final int[] secondHalves;
+    // Upward edges as CSR: for the forward search the edges leaving a vertex towards higher ranks,
+    // for the backward search the edges entering a vertex from higher ranks
+    private final int[] forwardOffsets;
+    private final int[] forwardEdges;
+    private final int[] backwardOffsets;
+    private final int[] backwardEdges;
+
+    ContractionHierarchy(List<Vertex> vertices, int[] ranks, int[] sources, int[] targets, int[] weights,
+                         int[] firstHalves, int[] secondHalves) {
+        vertexIndex = new VertexIndex();
+        for (Vertex vertex : vertices) {
+            vertexIndex.add(vertex);
+        }
+        this.ranks = ranks;
+        this.sources = sources;
+        this.targets = targets;
+        this.weights = weights;
+        this.firstHalves = firstHalves;
+        this.secondHalves = secondHalves;
+
+        int vertexCount = ranks.length;
+        forwardOffsets = new int[vertexCount + 1];
+        backwardOffsets = new int[vertexCount + 1];
+        for (int e = 0; e < sources.length; e++) {
+            if (ranks[targets[e]] > ranks[sources[e]]) {
+                forwardOffsets[sources[e] + 1]++;
+            } else {
+                backwardOffsets[targets[e] + 1]++;
+            }
+        }
+        for (int v = 0; v < vertexCount; v++) {
+            forwardOffsets[v + 1] += forwardOffsets[v];
+            backwardOffsets[v + 1] += backwardOffsets[v];
+        }
+        forwardEdges = new int[forwardOffsets[vertexCount]];
+        backwardEdges = new int[backwardOffsets[vertexCount]];
+        int[] forwardNext = forwardOffsets.clone();
+        int[] backwardNext = backwardOffsets.clone();
+        for (int e = 0; e < sources.length; e++) {
+            if (ranks[targets[e]] > ranks[sources[e]]) {
+                forwardEdges[forwardNext[sources[e]]++] = e;
+            } else {
+                backwardEdges[backwardNext[targets[e]]++] = e;
+            }
+        }
+    }
+
+    /**
+     * Builds the contraction hierarchy of the specified graph.
+     *
+     * @throws IllegalArgumentException if the graph has a negative edge weight
+     */
+    public static ContractionHierarchy build(DijkstraGraph graph) {
+        return new ContractionHierarchyBuilder(graph).build(graph.getVertices());
+    }
+
+    /**
+     * Writes the hierarchy to the specified output, without the vertices themselves.
+     */
+    public void save(DataOutput out) throws IOException {
+        out.writeInt(FORMAT_MAGIC);
+        out.writeInt(ranks.length);
+        out.writeInt(sources.length);
+        for (int rank : ranks) {
+            out.writeInt(rank);
+        }
+        for (int e = 0; e < sources.length; e++) {
+            out.writeInt(sources[e]);
+            out.writeInt(targets[e]);
+            out.writeInt(weights[e]);
+            out.writeInt(firstHalves[e]);
+            out.writeInt(secondHalves[e]);
+        }
+    }
+
+    /**
+     * Reads a hierarchy written by {@link #save(DataOutput)}.
+     *
+     * @param vertices the vertices of the graph, in the order of {@link DijkstraGraph#getVertices()}
+     *                 at the time the hierarchy was built
+     * @throws IOException if the input cannot be read or does not contain a hierarchy
+     *                     for this number of vertices
+     */
+    public static ContractionHierarchy load(DataInput in, List<Vertex> vertices) throws IOException {
+        if (in.readInt() != FORMAT_MAGIC) {
+            throw new IOException("Input does not contain a contraction hierarchy");
+        }
+        int vertexCount = in.readInt();
+        int edgeCount = in.readInt();
+        if (vertexCount != vertices.size()) {
+            throw new IOException("Hierarchy has " + vertexCount + " vertices, but " + vertices.size() + " were given");
+        }
+        if (edgeCount < 0) {
+            throw new IOException("Invalid edge count: " + edgeCount);
+        }
+        int[] ranks = new int[vertexCount];
+        for (int v = 0; v < vertexCount; v++) {
+            ranks[v] = in.readInt();
+        }
+        int[] sources = new int[edgeCount];
+        int[] targets = new int[edgeCount];
+        int[] weights = new int[edgeCount];
+        int[] firstHalves = new int[edgeCount];
+        int[] secondHalves = new int[edgeCount];
+        for (int e = 0; e < edgeCount; e++) {
+            sources[e] = readIndex(in, vertexCount);
+            targets[e] = readIndex(in, vertexCount);
+            weights[e] = in.readInt();
+            firstHalves[e] = readHalf(in, edgeCount);
+            secondHalves[e] = readHalf(in, edgeCount);
+        }
+        return new ContractionHierarchy(vertices, ranks, sources, targets, weights,
+                firstHalves, secondHalves);
+    }
+
+    private static int readIndex(DataInput in, int vertexCount) throws IOException {
+        int index = in.readInt();
+        if (index < 0 || index >= vertexCount) {
+            throw new IOException("Vertex index out of range: " + index);
+        }
+        return index;
+    }
+
+    private static int readHalf(DataInput in, int edgeCount) throws IOException {
+        int edge = in.readInt();
+        if (edge < NONE || edge >= edgeCount) {
+            throw new IOException("Edge index out of range: " + edge);
+        }
+        return edge;
+    }
+
+    /**
+     * Returns the number of vertices.
+     */
+    public int getVertexCount() {
+        return ranks.length;
+    }
+
+    /**
+     * Returns the number of edges, original edges and shortcuts together.
+     */
+    public int getEdgeCount() {
+        return sources.length;
+    }
+
+    /**
+     * Returns the number of the vertex, or -1 if the vertex is not in the hierarchy.
+     */
+    public int indexOf(Vertex vertex) {
+        return vertexIndex.indexOf(vertex);
+    }
+
+    /**
+     * Returns the vertex with the specified number.
+     */
+    public Vertex vertexAt(int index) {
+        return vertexIndex.vertexAt(index);
+    }
+
+    /**
+     * Returns the rank of the vertex with the specified number; higher ranks were contracted later.
+     */
+    public int getRank(int vertex) {
+        return ranks[vertex];
+    }
+
+    // Accessors used by ContractionHierarchyQuery
+
+    int forwardStart(int vertex) {
+        return forwardOffsets[vertex];
+    }
+
+    int forwardEnd(int vertex) {
+        return forwardOffsets[vertex + 1];
+    }
+
+    int forwardEdge(int position) {
+        return forwardEdges[position];
+    }
+
+    int backwardStart(int vertex) {
+        return backwardOffsets[vertex];
+    }
+
+    int backwardEnd(int vertex) {
+        return backwardOffsets[vertex + 1];
+    }
+
+    int backwardEdge(int position) {
+        return backwardEdges[position];
+    }
+
+    int getSource(int edge) {
+        return sources[edge];
+    }
+
+    int getTarget(int edge) {
+        return targets[edge];
+    }
+
+    int getWeight(int edge) {
+        return weights[edge];
+    }
+
+    int getFirstHalf(int edge) {
+        return firstHalves[edge];
+    }
+
+    int getSecondHalf(int edge) {
+        return secondHalves[edge];
+    }
+}
@@ -0,0 +1,280 @@
+package graph.dijkstra;
+
+import graph.Vertex;
+import graph.dijkstra.graph.DijkstraGraph;
+import graph.dijkstra.graph.EdgeCursor;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Builds a {@link ContractionHierarchy} by contracting the vertices of a graph one by one.
+ * <p>
+ * Contracting a vertex v removes it from the remaining graph. For every pair of remaining edges
+ * u -> v -> w, a shortcut u -> w is added unless a local "witness" search finds a path from u to w
+ * that avoids v and is not longer. The next vertex to contract is the one with the smallest
+ * priority: the edge difference (shortcuts it would add minus edges it would remove) plus the
+ * number of its neighbors that are already contracted, which spreads contraction evenly over the
+ * graph. Priorities are updated lazily: when the vertex with the smallest priority is taken from
+ * the queue, its priority is computed again, and if it is no longer the smallest it is put back.
+ * <p>
+ * Witness searches give up after settling {@value #WITNESS_SETTLE_LIMIT} vertices. This may add
+ * a shortcut that is not needed, which costs a little space but never gives wrong distances.
+ */
+class ContractionHierarchyBuilder {
+
+    private static final int WITNESS_SETTLE_LIMIT = 500;
+
+    private final int vertexCount;
+    // All edges created so far; the original edges first, then the shortcuts
+    private final IntList sources = new IntList();
+    private final IntList targets = new IntList();
+    private final IntList weights = new IntList();
+    private final IntList firstHalves = new IntList();
+    private final IntList secondHalves = new IntList();
+    // Edge ids leaving and entering each vertex; edges to contracted vertices are skipped when read
+    private final IntList[] outgoing;
+    private final IntList[] incoming;
+    private final boolean[] contracted;
+    private final int[] contractedNeighbors;
+
+    // Scratch space of the witness search
+    private final int[] witnessDistances;
+    private final int[] touched;
+    private int touchedCount;
+    private final IndexedBinaryHeap witnessQueue;
+
+    ContractionHierarchyBuilder(DijkstraGraph graph) {
+        vertexCount = graph.getVertexCount();
+        outgoing = new IntList[vertexCount];
+        incoming = new IntList[vertexCount];
+        for (int v = 0; v < vertexCount; v++) {
+            outgoing[v] = new IntList();
+            incoming[v] = new IntList();
+        }
+        EdgeCursor edges = graph.edgeCursor();
+        for (int v = 0; v < vertexCount; v++) {
+            edges.moveTo(v);
+            while (edges.next()) {
+                if (edges.weight() < 0) {
+                    throw new IllegalArgumentException("Edge weight cannot be negative.");
+                }
+                addEdge(v, edges.target(), edges.weight(), ContractionHierarchy.NONE, ContractionHierarchy.NONE);
+            }
+        }
+        contracted = new boolean[vertexCount];
+        contractedNeighbors = new int[vertexCount];
+        witnessDistances = new int[vertexCount];
+        Arrays.fill(witnessDistances, DijkstraGraph.INFINITY);
+        touched = new int[vertexCount];
+        witnessQueue = new IndexedBinaryHeap(Math.max(vertexCount, 1));
+    }
+
+    /**
+     * Contracts all vertices and returns the resulting hierarchy.
+     */
+    ContractionHierarchy build(List<Vertex> vertices) {
+        int[] ranks = new int[vertexCount];
+        if (vertexCount > 0) {
+            IndexedBinaryHeap order = new IndexedBinaryHeap(vertexCount);
+            int[] priorities = new int[vertexCount];
+            for (int v = 0; v < vertexCount; v++) {
+                priorities[v] = priority(v);
+                order.add(v, priorities[v]);
+            }
+            int rank = 0;
+            while (!order.isEmpty()) {
+                int v = order.pollSmallest();
+                // Lazy update: contract v only if it still has the smallest priority
+                priorities[v] = priority(v);
+                if (!order.isEmpty() && priorities[v] > priorities[order.peekSmallest()]) {
+                    order.add(v, priorities[v]);
+                    continue;
+                }
+                contract(v, false);
+                contracted[v] = true;
+                ranks[v] = rank++;
+            }
+        }
+        return new ContractionHierarchy(vertices, ranks, sources.toArray(), targets.toArray(),
+                weights.toArray(), firstHalves.toArray(), secondHalves.toArray());
+    }
+
+    private int priority(int v) {
+        int removedEdges = 0;
+        IntList out = outgoing[v];
+        for (int i = 0; i < out.size(); i++) {
+            if (!contracted[targets.get(out.get(i))]) {
+                removedEdges++;
+            }
+        }
+        IntList in = incoming[v];
+        for (int i = 0; i < in.size(); i++) {
+            if (!contracted[sources.get(in.get(i))]) {
+                removedEdges++;
+            }
+        }
+        return contract(v, true) - removedEdges + contractedNeighbors[v];
+    }
+
+    /**
+     * Adds the shortcuts needed to remove vertex v, or only counts them if 'simulate' is true.
+     *
+     * @return the number of shortcuts
+     */
+    private int contract(int v, boolean simulate) {
+        int shortcuts = 0;
+        IntList in = incoming[v];
+        IntList out = outgoing[v];
+        // The longest path through v bounds every witness search
+        int maxOut = 0;
+        for (int j = 0; j < out.size(); j++) {
+            int e = out.get(j);
+            if (!contracted[targets.get(e)]) {
+                maxOut = Math.max(maxOut, weights.get(e));
+            }
+        }
+
+        for (int i = 0; i < in.size(); i++) {
+            int inEdge = in.get(i);
+            int u = sources.get(inEdge);
+            if (contracted[u]) {
+                continue;
+            }
+            if (!simulate) {
+                contractedNeighbors[u]++;
+            }
+            witnessSearch(u, v, weights.get(inEdge) + maxOut);
+            for (int j = 0; j < out.size(); j++) {
+                int outEdge = out.get(j);
+                int w = targets.get(outEdge);
+                if (contracted[w] || w == u) {
+                    continue;
+                }
+                int viaV = weights.get(inEdge) + weights.get(outEdge);
+                if (witnessDistances[w] <= viaV) {
+                    continue; // A path avoiding v is at least as short
+                }
+                shortcuts++;
+                if (!simulate) {
+                    addOrImproveEdge(u, w, viaV, inEdge, outEdge);
+                }
+            }
+            resetWitnessSearch();
+        }
+        if (!simulate) {
+            for (int j = 0; j < out.size(); j++) {
+                int w = targets.get(out.get(j));
+                if (!contracted[w]) {
+                    contractedNeighbors[w]++;
+                }
+            }
+        }
+        return shortcuts;
+    }
+
+    // Runs Dijkstra's algorithm from 'source' over the remaining graph without 'excluded'
+    private void witnessSearch(int source, int excluded, int maxDistance) {
+        setWitnessDistance(source, 0);
+        witnessQueue.add(source, 0);
+        int settled = 0;
+        while (!witnessQueue.isEmpty() && settled < WITNESS_SETTLE_LIMIT) {
+            int vertex = witnessQueue.pollSmallest();
+            settled++;
+            if (witnessDistances[vertex] > maxDistance) {
+                break;
+            }
+            IntList out = outgoing[vertex];
+            for (int i = 0; i < out.size(); i++) {
+                int e = out.get(i);
+                int neighbor = targets.get(e);
+                if (neighbor == excluded || contracted[neighbor]) {
+                    continue;
+                }
+                int candidate = witnessDistances[vertex] + weights.get(e);
+                if (candidate < witnessDistances[neighbor]) {
+                    setWitnessDistance(neighbor, candidate);
+                    if (witnessQueue.contains(neighbor)) {
+                        witnessQueue.decreaseKey(neighbor, candidate);
+                    } else {
+                        witnessQueue.add(neighbor, candidate);
+                    }
+                }
+            }
+        }
+    }
+
+    private void setWitnessDistance(int vertex, int distance) {
+        if (witnessDistances[vertex] == DijkstraGraph.INFINITY) {
+            touched[touchedCount++] = vertex;
+        }
+        witnessDistances[vertex] = distance;
+    }
+
+    private void resetWitnessSearch() {
+        for (int i = 0; i < touchedCount; i++) {
+            witnessDistances[touched[i]] = DijkstraGraph.INFINITY;
+        }
+        touchedCount = 0;
+        witnessQueue.clear();
+    }
+
+    private void addOrImproveEdge(int source, int target, int weight, int firstHalf, int secondHalf) {
+        // Both endpoints are uncontracted, so no shortcut built so far refers to this edge
+        IntList out = outgoing[source];
+        for (int i = 0; i < out.size(); i++) {
+            int e = out.get(i);
+            if (targets.get(e) == target) {
+                if (weight < weights.get(e)) {
+                    weights.set(e, weight);
+                    firstHalves.set(e, firstHalf);
+                    secondHalves.set(e, secondHalf);
+                }
+                return;
+            }
+        }
+        addEdge(source, target, weight, firstHalf, secondHalf);
+    }
+
+    private void addEdge(int source, int target, int weight, int firstHalf, int secondHalf) {
+        int id = sources.size();
+        sources.add(source);
+        targets.add(target);
+        weights.add(weight);
+        firstHalves.add(firstHalf);
+        secondHalves.add(secondHalf);
+        outgoing[source].add(id);
+        incoming[target].add(id);
+    }
+
+    /**
+     * A growable array of ints, which avoids boxing every edge id.
+     */
+    private static class IntList {
+        private int[] items = new int[4];
+        private int size;
+
+        void add(int value) {
+            if (size == items.length) {
+                items = Arrays.copyOf(items, size * 2);
+            }
+            items[size++] = value;
+        }
+
+        int get(int index) {
+            return items[index];
+        }
+
+        void set(int index, int value) {
+            items[index] = value;
+        }
+
+        int size() {
+            return size;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(items, size);
+        }
+    }
+}
@@ -0,0 +1,225 @@
+package graph.dijkstra;
+
+import graph.Vertex;
+import graph.dijkstra.graph.DijkstraGraph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Answers shortest-path queries on a {@link ContractionHierarchy}.
+ * <p>
+ * A forward search from the source and a backward search from the target both follow only edges
+ * towards vertices of higher rank. The searches alternate, and each one stops when the smallest
+ * distance in its queue is not less than the best connection found so far. The shortest path is
+ * the one through the vertex where the two searches meet with the smallest total distance; its
+ * shortcuts are then expanded into the original edges.
+ * <p>
+ * The working arrays are created once and only the entries touched by a query are reset, so a
+ * query costs time proportional to the part of the hierarchy it explores, not to the whole graph.
+ * An instance must not be used by several threads at the same time; create one query per thread
+ * over the shared hierarchy instead.
+ */
+public class ContractionHierarchyQuery {
+
+    private static final int FORWARD = 0;
+    private static final int BACKWARD = 1;
+
+    private final ContractionHierarchy hierarchy;
+    private final int[][] distances;
+    // The hierarchy edge through which each vertex was reached, per search direction
+    private final int[][] parentEdges;
+    private final IndexedBinaryHeap[] queues;
+    private final int[] touched;
+    private int touchedCount;
+    // Scratch stack for expanding shortcuts
+    private int[] expandStack;
+
+    private int lastDistance;
+    private int settledCount;
+
+    /**
+     * Prepares queries on the specified hierarchy.
+     */
+    public ContractionHierarchyQuery(ContractionHierarchy hierarchy) {
+        this.hierarchy = hierarchy;
+        int vertexCount = hierarchy.getVertexCount();
+        distances = new int[2][vertexCount];
+        parentEdges = new int[2][vertexCount];
+        for (int side = 0; side < 2; side++) {
+            Arrays.fill(distances[side], DijkstraGraph.INFINITY);
+            Arrays.fill(parentEdges[side], ContractionHierarchy.NONE);
+        }
+        int capacity = Math.max(vertexCount, 1);
+        queues = new IndexedBinaryHeap[]{new IndexedBinaryHeap(capacity), new IndexedBinaryHeap(capacity)};
+        touched = new int[vertexCount];
+        expandStack = new int[16];
+    }
+
+    /**
+     * Computes the length of the shortest path from the source to the target.
+     *
+     * @return the distance, or {@link DijkstraGraph#INFINITY} if the target is not reachable
+     * @throws IllegalArgumentException if the source or target is not in the hierarchy
+     */
+    public int distance(Vertex source, Vertex target) {
+        search(checkedIndexOf(source), checkedIndexOf(target));
+        reset();
+        return lastDistance;
+    }
+
+    /**
+     * Computes the shortest path from the source to the target.
+     *
+     * @return the vertices of the path in the original graph, or an empty list if the target is not reachable
+     * @throws IllegalArgumentException if the source or target is not in the hierarchy
+     */
+    public List<Vertex> shortestPath(Vertex source, Vertex target) {
+        int meeting = search(checkedIndexOf(source), checkedIndexOf(target));
+        List<Vertex> path = new ArrayList<>();
+        if (meeting != ContractionHierarchy.NONE) {
+            // Collect the hierarchy edges from the source up to the meeting vertex and down to the target
+            List<Integer> edges = new ArrayList<>();
+            for (int v = meeting; parentEdges[FORWARD][v] != ContractionHierarchy.NONE; ) {
+                int edge = parentEdges[FORWARD][v];
+                edges.add(edge);
+                v = hierarchy.getSource(edge);
+            }
+            Collections.reverse(edges);
+            for (int v = meeting; parentEdges[BACKWARD][v] != ContractionHierarchy.NONE; ) {
+                int edge = parentEdges[BACKWARD][v];
+                edges.add(edge);
+                v = hierarchy.getTarget(edge);
+            }
+            path.add(hierarchy.vertexAt(edges.isEmpty() ? meeting : hierarchy.getSource(edges.get(0))));
+            for (int edge : edges) {
+                expand(edge, path);
+            }
+        }
+        reset();
+        return path;
+    }
+
+    /**
+     * Returns the length of the path found by the last query, or {@link DijkstraGraph#INFINITY}.
+     */
+    public int getLastDistance() {
+        return lastDistance;
+    }
+
+    /**
+     * Returns the number of vertices settled by both searches together during the last query.
+     */
+    public int getLastSettledCount() {
+        return settledCount;
+    }
+
+    private int checkedIndexOf(Vertex vertex) {
+        int index = hierarchy.indexOf(vertex);
+        if (index == -1) {
+            throw new IllegalArgumentException("Vertex is not in the hierarchy: " + vertex);
+        }
+        return index;
+    }
+
+    // Runs both upward searches and returns the meeting vertex of the shortest path, or NONE
+    private int search(int source, int target) {
+        settledCount = 0;
+        relax(FORWARD, source, 0, ContractionHierarchy.NONE);
+        relax(BACKWARD, target, 0, ContractionHierarchy.NONE);
+        int best = DijkstraGraph.INFINITY;
+        int meeting = ContractionHierarchy.NONE;
+
+        int side = FORWARD;
+        while (true) {
+            boolean forwardDone = isDone(FORWARD, best);
+            boolean backwardDone = isDone(BACKWARD, best);
+            if (forwardDone && backwardDone) {
+                break;
+            }
+            // Alternate between the directions while both still have work
+            if (side == FORWARD ? forwardDone : backwardDone) {
+                side = 1 - side;
+            }
+            int vertex = queues[side].pollSmallest();
+            settledCount++;
+            int other = distances[1 - side][vertex];
+            if (other != DijkstraGraph.INFINITY && distances[side][vertex] + other < best) {
+                best = distances[side][vertex] + other;
+                meeting = vertex;
+            }
+            if (side == FORWARD) {
+                for (int i = hierarchy.forwardStart(vertex); i < hierarchy.forwardEnd(vertex); i++) {
+                    int edge = hierarchy.forwardEdge(i);
+                    tryRelax(FORWARD, hierarchy.getTarget(edge), distances[FORWARD][vertex] + hierarchy.getWeight(edge), edge);
+                }
+            } else {
+                for (int i = hierarchy.backwardStart(vertex); i < hierarchy.backwardEnd(vertex); i++) {
+                    int edge = hierarchy.backwardEdge(i);
+                    tryRelax(BACKWARD, hierarchy.getSource(edge), distances[BACKWARD][vertex] + hierarchy.getWeight(edge), edge);
+                }
+            }
+            side = 1 - side;
+        }
+        lastDistance = best;
+        return meeting;
+    }
+
+    private boolean isDone(int side, int best) {
+        return queues[side].isEmpty() || distances[side][queues[side].peekSmallest()] >= best;
+    }
+
+    private void tryRelax(int side, int vertex, int distance, int edge) {
+        if (distance < distances[side][vertex]) {
+            relax(side, vertex, distance, edge);
+        }
+    }
+
+    private void relax(int side, int vertex, int distance, int edge) {
+        if (distances[FORWARD][vertex] == DijkstraGraph.INFINITY && distances[BACKWARD][vertex] == DijkstraGraph.INFINITY) {
+            touched[touchedCount++] = vertex;
+        }
+        distances[side][vertex] = distance;
+        parentEdges[side][vertex] = edge;
+        if (queues[side].contains(vertex)) {
+            queues[side].decreaseKey(vertex, distance);
+        } else {
+            queues[side].add(vertex, distance);
+        }
+    }
+
+    // Appends the targets of the original edges that the hierarchy edge stands for
+    private void expand(int edge, List<Vertex> path) {
+        int size = 0;
+        expandStack[size++] = edge;
+        while (size > 0) {
+            int current = expandStack[--size];
+            int first = hierarchy.getFirstHalf(current);
+            if (first == ContractionHierarchy.NONE) {
+                path.add(hierarchy.vertexAt(hierarchy.getTarget(current)));
+                continue;
+            }
+            if (size + 2 > expandStack.length) {
+                expandStack = Arrays.copyOf(expandStack, expandStack.length * 2);
+            }
+            // Push the second half first so that the first half is expanded first
+            expandStack[size++] = hierarchy.getSecondHalf(current);
+            expandStack[size++] = first;
+        }
+    }
+
+    private void reset() {
+        for (int i = 0; i < touchedCount; i++) {
+            int vertex = touched[i];
+            for (int side = 0; side < 2; side++) {
+                distances[side][vertex] = DijkstraGraph.INFINITY;
+                parentEdges[side][vertex] = ContractionHierarchy.NONE;
+            }
+        }
+        touchedCount = 0;
+        queues[FORWARD].clear();
+        queues[BACKWARD].clear();
+    }
+}
@@ -0,0 +1,333 @@
+package graph.dijkstra;
+
+import graph.CompactGraph;
+import graph.Vertex;
+import graph.dijkstra.graph.DijkstraGraph;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Implements the delta-stepping algorithm for single-source shortest paths over a
+ * {@link CompactGraph} with non-negative edge weights, relaxing edges in parallel.
+ * <p>
+ * Instead of settling one vertex at a time like Dijkstra's algorithm, vertices are kept in
+ * buckets of width delta: bucket i holds the vertices with a tentative distance in
+ * [i * delta, (i + 1) * delta). The smallest non-empty bucket is processed as a whole. Its
+ * light edges (weight at most delta) are relaxed in parallel, and because they can put vertices
+ * back into the same bucket this repeats until the bucket stays empty. Then the heavy edges of
+ * every vertex removed from the bucket are relaxed once, also in parallel; they can only reach
+ * later buckets. Distances are lowered with compare-and-set, so concurrent relaxations of the
+ * same vertex never lose the smaller value.
+ * <p>
+ * A small delta does little extra work but has many buckets with little parallelism each; a
+ * large delta has fewer, fuller buckets but relaxes some edges more than once. A delta around
+ * the average edge weight is a good start. The edges of each vertex are stored with the light
+ * ones first, so the two kinds of relaxation never have to test the weight of an edge.
+ * <p>
+ * The buckets are kept in one min-heap of (bucket, vertex) entries, so only buckets that hold
+ * vertices take memory, however large the distances are compared to delta.
+ */
+public class DeltaStepping {
+
+    // Below this number of vertices a frontier is relaxed by the calling thread alone
+    private static final int THRESHOLD = 256;
+    private static final int NO_BUCKET = -1;
+
+    private final CompactGraph graph;
+    private final int delta;
+    private final ForkJoinPool pool;
+    // Copy of the graph's edges with the light edges of each vertex before the heavy ones
+    private final int[] offsets;
+    private final int[] lightEnds;
+    private final int[] targets;
+    private final int[] weights;
+
+    /**
+     * Prepares searches over the specified graph with the specified bucket width, in the common pool.
+     *
+     * @throws IllegalArgumentException if delta is not positive or the graph has a negative edge weight
+     */
+    public DeltaStepping(CompactGraph graph, int delta) {
+        this(graph, delta, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Prepares searches over the specified graph with the specified bucket width, in the specified pool.
+     *
+     * @throws IllegalArgumentException if delta is not positive or the graph has a negative edge weight
+     */
+    public DeltaStepping(CompactGraph graph, int delta, ForkJoinPool pool) {
+        if (delta <= 0) {
+            throw new IllegalArgumentException("Delta must be greater than 0");
+        }
+        this.graph = graph;
+        this.delta = delta;
+        this.pool = pool;
+
+        int vertexCount = graph.getVertexCount();
+        offsets = new int[vertexCount + 1];
+        lightEnds = new int[vertexCount];
+        targets = new int[graph.getEdgeCount()];
+        weights = new int[graph.getEdgeCount()];
+        for (int v = 0; v < vertexCount; v++) {
+            int light = graph.edgesStart(v);
+            int heavy = graph.edgesEnd(v);
+            offsets[v] = light;
+            // Fill light edges from the front and heavy edges from the back of the vertex's range
+            for (int e = graph.edgesStart(v); e < graph.edgesEnd(v); e++) {
+                int weight = graph.getWeight(e);
+                if (weight < 0) {
+                    throw new IllegalArgumentException("Edge weight cannot be negative.");
+                }
+                int slot = weight <= delta ? light++ : --heavy;
+                targets[slot] = graph.getTarget(e);
+                weights[slot] = weight;
+            }
+            lightEnds[v] = light;
+        }
+        offsets[vertexCount] = graph.getEdgeCount();
+    }
+
+    /**
+     * Returns the bucket width.
+     */
+    public int getDelta() {
+        return delta;
+    }
+
+    /**
+     * Computes the distances from the source vertex to all vertices.
+     *
+     * @return the distances indexed by vertex number, {@link DijkstraGraph#INFINITY} for unreachable vertices
+     * @throws IllegalArgumentException if the source is not in the graph
+     */
+    public int[] computeDistances(Vertex source) {
+        int index = graph.indexOf(source);
+        if (index == -1) {
+            throw new IllegalArgumentException("Source vertex is not in the graph");
+        }
+        return computeDistances(index);
+    }
+
+    /**
+     * Computes the distances from the source vertex with the specified number to all vertices.
+     *
+     * @return the distances indexed by vertex number, {@link DijkstraGraph#INFINITY} for unreachable vertices
+     * @throws IllegalArgumentException if the source is not a vertex number of the graph
+     */
+    public int[] computeDistances(int source) {
+        int vertexCount = graph.getVertexCount();
+        if (source < 0 || source >= vertexCount) {
+            throw new IllegalArgumentException("Source is not a vertex of the graph: " + source);
+        }
+        AtomicIntegerArray distances = new AtomicIntegerArray(vertexCount);
+        for (int v = 0; v < vertexCount; v++) {
+            distances.set(v, DijkstraGraph.INFINITY);
+        }
+        distances.set(source, 0);
+
+        // Buckets may hold stale entries; bucketOf[v] tells which bucket v currently belongs to
+        BucketQueue buckets = new BucketQueue();
+        int[] bucketOf = new int[vertexCount];
+        Arrays.fill(bucketOf, NO_BUCKET);
+        // removedIn[v] is the last bucket v was removed from, to collect each vertex once for heavy edges
+        int[] removedIn = new int[vertexCount];
+        Arrays.fill(removedIn, NO_BUCKET);
+        insert(buckets, bucketOf, source, 0);
+
+        while (!buckets.isEmpty()) {
+            // Relaxations never reach a smaller bucket, so the smallest one is complete
+            int i = buckets.peekBucket();
+            IntBuffer removed = new IntBuffer();
+            // Light edges can put vertices back into bucket i, so it is taken until it stays empty
+            while (!buckets.isEmpty() && buckets.peekBucket() == i) {
+                IntBuffer frontier = new IntBuffer();
+                while (!buckets.isEmpty() && buckets.peekBucket() == i) {
+                    int v = buckets.pollVertex();
+                    if (bucketOf[v] != i) {
+                        continue; // Stale entry: v moved to a smaller bucket or was already taken
+                    }
+                    bucketOf[v] = NO_BUCKET;
+                    frontier.add(v);
+                    if (removedIn[v] != i) {
+                        removedIn[v] = i;
+                        removed.add(v);
+                    }
+                }
+                IntBuffer improved = relax(distances, frontier, true);
+                insertAll(buckets, bucketOf, distances, improved);
+            }
+            IntBuffer improved = relax(distances, removed, false);
+            insertAll(buckets, bucketOf, distances, improved);
+        }
+
+        int[] result = new int[vertexCount];
+        for (int v = 0; v < vertexCount; v++) {
+            result[v] = distances.get(v);
+        }
+        return result;
+    }
+
+    private IntBuffer relax(AtomicIntegerArray distances, IntBuffer frontier, boolean light) {
+        RelaxTask task = new RelaxTask(distances, frontier, 0, frontier.size(), light);
+        if (frontier.size() <= THRESHOLD) {
+            return task.compute(); // Not worth handing over to the pool
+        }
+        return pool.invoke(task);
+    }
+
+    private void insertAll(BucketQueue buckets, int[] bucketOf, AtomicIntegerArray distances, IntBuffer vertices) {
+        for (int k = 0; k < vertices.size(); k++) {
+            int v = vertices.get(k);
+            insert(buckets, bucketOf, v, distances.get(v) / delta);
+        }
+    }
+
+    private void insert(BucketQueue buckets, int[] bucketOf, int vertex, int bucket) {
+        if (bucketOf[vertex] == bucket) {
+            return; // Already there, possibly reported improved by several relaxations
+        }
+        buckets.add(bucket, vertex);
+        bucketOf[vertex] = bucket;
+    }
+
+    /**
+     * Relaxes the light or the heavy edges of a range of frontier vertices, splitting the range
+     * in halves while it is larger than the threshold. Returns the vertices whose distance dropped.
+     */
+    private class RelaxTask extends RecursiveTask<IntBuffer> {
+        private static final long serialVersionUID = 1L;
+
+        private final AtomicIntegerArray distances;
+        private final IntBuffer frontier;
+        private final int start;
+        private final int end;
+        private final boolean light;
+
+        RelaxTask(AtomicIntegerArray distances, IntBuffer frontier, int start, int end, boolean light) {
+            this.distances = distances;
+            this.frontier = frontier;
+            this.start = start;
+            this.end = end;
+            this.light = light;
+        }
+
+        @Override
+        protected IntBuffer compute() {
+            if (end - start > THRESHOLD) {
+                int middle = (start + end) >>> 1;
+                RelaxTask left = new RelaxTask(distances, frontier, start, middle, light);
+                RelaxTask right = new RelaxTask(distances, frontier, middle, end, light);
+                left.fork();
+                IntBuffer result = right.compute();
+                result.addAll(left.join());
+                return result;
+            }
+            IntBuffer improved = new IntBuffer();
+            for (int k = start; k < end; k++) {
+                int v = frontier.get(k);
+                int distance = distances.get(v);
+                int from = light ? offsets[v] : lightEnds[v];
+                int to = light ? lightEnds[v] : offsets[v + 1];
+                for (int e = from; e < to; e++) {
+                    int target = targets[e];
+                    int candidate = distance + weights[e];
+                    // Lower the target's distance unless another thread already made it smaller
+                    int current = distances.get(target);
+                    while (candidate < current) {
+                        if (distances.compareAndSet(target, current, candidate)) {
+                            improved.add(target);
+                            break;
+                        }
+                        current = distances.get(target);
+                    }
+                }
+            }
+            return improved;
+        }
+    }
+
+    /**
+     * A binary min-heap of (bucket, vertex) entries, each packed into one long with the bucket in
+     * the upper half, so the entries of the smallest bucket come out first.
+     */
+    private static class BucketQueue {
+        private long[] entries = new long[16];
+        private int size;
+
+        void add(int bucket, int vertex) {
+            if (size == entries.length) {
+                entries = Arrays.copyOf(entries, size * 2);
+            }
+            long entry = ((long) bucket << 32) | vertex;
+            int i = size++;
+            while (i > 0 && entries[(i - 1) >>> 1] > entry) {
+                entries[i] = entries[(i - 1) >>> 1];
+                i = (i - 1) >>> 1;
+            }
+            entries[i] = entry;
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        int peekBucket() {
+            return (int) (entries[0] >>> 32);
+        }
+
+        // Removes the smallest entry and returns its vertex
+        int pollVertex() {
+            int vertex = (int) entries[0];
+            long last = entries[--size];
+            int i = 0;
+            while (2 * i + 1 < size) {
+                int child = 2 * i + 1;
+                if (child + 1 < size && entries[child + 1] < entries[child]) {
+                    child++;
+                }
+                if (entries[child] >= last) {
+                    break;
+                }
+                entries[i] = entries[child];
+                i = child;
+            }
+            entries[i] = last;
+            return vertex;
+        }
+    }
+
+    /**
+     * A growable array of vertex numbers.
+     */
+    private static class IntBuffer {
+        private int[] items = new int[8];
+        private int size;
+
+        void add(int value) {
+            if (size == items.length) {
+                items = Arrays.copyOf(items, size * 2);
+            }
+            items[size++] = value;
+        }
+
+        void addAll(IntBuffer other) {
+            if (size + other.size > items.length) {
+                items = Arrays.copyOf(items, Math.max(items.length * 2, size + other.size));
+            }
+            System.arraycopy(other.items, 0, items, size, other.size);
+            size += other.size;
+        }
+
+        int get(int index) {
+            return items[index];
+        }
+
+        int size() {
+            return size;
+        }
+    }
+}
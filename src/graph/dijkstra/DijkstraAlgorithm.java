@@ -2,6 +2,7 @@ package graph.dijkstra;
 
 import graph.Vertex;
 import graph.dijkstra.graph.DijkstraGraph;
+import graph.dijkstra.graph.EdgeCursor;
 
 import java.util.*;
 
@@ -9,72 +10,216 @@ import java.util.*;
  * Implements Dijkstra's algorithm for finding the shortest paths
  * from a single source vertex to all other vertices in a graph
  * with non-negative edge weights.
+ * <p>
+ * Vertices are numbered by their position in {@link DijkstraGraph#getVertices()}, and
+ * distances and predecessors are kept in int arrays indexed by these numbers. The priority
+ * queue used to pick the next closest vertex is selected with {@link PriorityQueueType}.
+ * <p>
+ * The result of {@link #computePaths(DijkstraGraph, Vertex)} is an immutable {@link ShortestPathTree}.
+ * Optionally the trees of the most recently used sources are kept in an LRU cache, so asking for
+ * the paths from a popular source again costs nothing. The cache belongs to one graph: it is
+ * cleared when another graph is passed in, and {@link #resetState()} must be called after the
+ * graph has been changed.
  */
 public class DijkstraAlgorithm {
 
-    private final Map<Vertex, Vertex> predecessorMap;
+    private final PriorityQueueType queueType;
+    // Trees of recently used sources, least recently used first; null if caching is disabled
+    private final Map<Vertex, ShortestPathTree> cache;
+    private DijkstraGraph cachedGraph;
 
+    // The result of the last computation
+    private ShortestPathTree lastTree;
+
+    /**
+     * Constructs the algorithm using an indexed binary heap as its priority queue.
+     */
     public DijkstraAlgorithm() {
-        predecessorMap = new HashMap<>();
+        this(PriorityQueueType.BINARY_HEAP);
     }
 
     /**
-     * Computes the shortest paths from the specified source vertex.
+     * Constructs the algorithm using the specified kind of priority queue.
      */
-    public void computePaths(DijkstraGraph graph, Vertex source) {
-        if (!graph.getVertices().contains(source)) {
-            throw new IllegalArgumentException("Source vertex is not in the graph");
+    public DijkstraAlgorithm(PriorityQueueType queueType) {
+        this(queueType, 0);
+    }
+
+    /**
+     * Constructs the algorithm using the specified kind of priority queue, caching
+     * the trees of up to 'cacheCapacity' recently used sources.
+     *
+     * @throws IllegalArgumentException if the cache capacity is negative
+     */
+    public DijkstraAlgorithm(PriorityQueueType queueType, final int cacheCapacity) {
+        if (cacheCapacity < 0) {
+            throw new IllegalArgumentException("Cache capacity cannot be negative");
+        }
+        this.queueType = queueType;
+        if (cacheCapacity == 0) {
+            cache = null;
+        } else {
+            // Access order makes the map an LRU list; the eldest entry is the least recently used
+            cache = new LinkedHashMap<Vertex, ShortestPathTree>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Vertex, ShortestPathTree> eldest) {
+                    return size() > cacheCapacity;
+                }
+            };
         }
+    }
 
-        Map<Vertex, Integer> distanceFromSourceMap = new HashMap<>();
-        VertexDistancePriorityQueue pQueue = new VertexDistancePriorityQueue(graph.getVertexCount());
+    /**
+     * Computes the shortest paths from the specified source vertex, or takes them from the cache.
+     *
+     * @return the shortest-path tree of the source
+     * @throws IllegalArgumentException if the source is not in the graph
+     */
+    public ShortestPathTree computePaths(DijkstraGraph graph, Vertex source) {
+        if (cache != null) {
+            if (graph != cachedGraph) {
+                cache.clear();
+                cachedGraph = graph;
+            }
+            ShortestPathTree cached = cache.get(source);
+            if (cached != null) {
+                lastTree = cached;
+                return cached;
+            }
+        }
+        lastTree = run(graph, source, null);
+        if (cache != null) {
+            cache.put(source, lastTree);
+        }
+        return lastTree;
+    }
 
-        List<Vertex> vertices = graph.getVertices();
-        for (Vertex v : vertices) {
-            int initialDistance = v.equals(source) ? 0 : DijkstraGraph.INFINITY;
-            distanceFromSourceMap.put(v, initialDistance);
-            predecessorMap.put(v, null);
-            pQueue.add(v, distanceFromSourceMap.get(v));
+    /**
+     * Computes the shortest path from the source vertex to the target vertex only.
+     * <p>
+     * The search stops as soon as the target is removed from the priority queue, because its
+     * distance is final at that point. Vertices farther from the source than the target are never
+     * settled, so the search usually explores only a part of the graph. Afterwards,
+     * {@link #getShortestPathTo(Vertex)} and {@link #getDistanceTo(Vertex)} answer for the vertices
+     * settled by the search, among them the target and every vertex on its path, and throw an
+     * {@link IllegalStateException} for all others. A cached tree of the source is used if there is
+     * one, but the partial result is never put into the cache.
+     *
+     * @return the vertices of the shortest path from source to target, or an empty list if
+     * the target is not reachable
+     * @throws IllegalArgumentException if the source or target is not in the graph
+     */
+    public List<Vertex> shortestPath(DijkstraGraph graph, Vertex source, Vertex target) {
+        if (graph.indexOf(target) == -1) {
+            throw new IllegalArgumentException("Target vertex is not in the graph");
         }
+        ShortestPathTree cached = cache != null && graph == cachedGraph ? cache.get(source) : null;
+        lastTree = cached != null ? cached : run(graph, source, target);
+        return new ArrayList<>(lastTree.getPathTo(target));
+    }
 
-        while (!pQueue.isEmpty()) {
-            Vertex closestToSource = pQueue.pollSmallest();
-            List<Vertex> neighbors = graph.getNeighbors(closestToSource);
+    /**
+     * Runs Dijkstra's algorithm from 'source'. If 'target' is not null, the search stops once the
+     * target is settled and returns a partial tree, unless the queue ran empty first.
+     */
+    private ShortestPathTree run(DijkstraGraph graph, Vertex source, Vertex target) {
+        int sourceIndex = graph.indexOf(source);
+        if (sourceIndex == -1) {
+            throw new IllegalArgumentException("Source vertex is not in the graph");
+        }
+
+        int vertexCount = graph.getVertexCount();
+        int[] distances = new int[vertexCount];
+        int[] predecessors = new int[vertexCount];
+        Arrays.fill(distances, DijkstraGraph.INFINITY);
+        Arrays.fill(predecessors, ShortestPathTree.NO_PREDECESSOR);
+
+        // Vertices enter the queue when they are first reached, so unreachable ones never do
+        DistancePriorityQueue pQueue = createQueue(vertexCount);
+        distances[sourceIndex] = 0;
+        pQueue.add(sourceIndex, 0);
+        int targetIndex = target == null ? -1 : graph.indexOf(target);
+        // Only an early-exit search needs to know which distances are final
+        boolean[] settled = target == null ? null : new boolean[vertexCount];
+        EdgeCursor edges = graph.edgeCursor();
 
-            for (Vertex n : neighbors) {
-                int currentDistance = distanceFromSourceMap.get(n);
-                int edgeWeight = graph.getEdgeWeightBetween(closestToSource, n);
+        while (!pQueue.isEmpty()) {
+            int closestToSource = pQueue.pollSmallest();
+            if (settled != null) {
+                settled[closestToSource] = true;
+            }
+            if (closestToSource == targetIndex) {
+                // The target's distance can no longer improve
+                return new ShortestPathTree(graph, sourceIndex, distances, predecessors, settled);
+            }
+            // Visit each outgoing edge once, reading its target and weight together
+            edges.moveTo(closestToSource);
+            while (edges.next()) {
+                int neighborIndex = edges.target();
+                int edgeWeight = edges.weight();
                 // Safely compute an alternative path distance without risk of overflow
-                int alternativeDistance = distanceFromSourceMap.get(closestToSource) + edgeWeight;
-                if (alternativeDistance < currentDistance) {
-                    pQueue.update(n, alternativeDistance);
-                    distanceFromSourceMap.put(n, alternativeDistance);
-                    predecessorMap.put(n, closestToSource);
+                int alternativeDistance = distances[closestToSource] + edgeWeight;
+                if (alternativeDistance < distances[neighborIndex]) {
+                    distances[neighborIndex] = alternativeDistance;
+                    predecessors[neighborIndex] = closestToSource;
+                    if (pQueue.contains(neighborIndex)) {
+                        pQueue.decreaseKey(neighborIndex, alternativeDistance);
+                    } else {
+                        pQueue.add(neighborIndex, alternativeDistance);
+                    }
                 }
             }
         }
+        return new ShortestPathTree(graph, sourceIndex, distances, predecessors);
+    }
+
+    private DistancePriorityQueue createQueue(int capacity) {
+        switch (queueType) {
+            case SORTED_ARRAY:
+                return new VertexDistancePriorityQueue(capacity);
+            case BINARY_HEAP:
+                return new IndexedBinaryHeap(capacity);
+            case PAIRING_HEAP:
+                return new PairingHeap(capacity);
+            default:
+                throw new IllegalArgumentException("Unknown priority queue type: " + queueType);
+        }
     }
 
     /**
-     * Retrieves the shortest path from the source vertex
-     * to the specified target vertex.
+     * Retrieves the shortest path from the source vertex of the last computation
+     * to the specified target vertex. If the target is not reachable, the path
+     * consists of the target alone.
+     *
+     * @throws IllegalStateException if the last computation stopped early before settling the target
      */
     public List<Vertex> getShortestPathTo(Vertex target) {
-        List<Vertex> path = new ArrayList<>();
-        path.add(target);
-        Vertex predecessor = predecessorMap.get(target);
-        while (predecessor != null) {
-            path.add(predecessor);
-            predecessor = predecessorMap.get(predecessor);
+        if (lastTree == null || !lastTree.isReachable(target)) {
+            List<Vertex> path = new ArrayList<>();
+            path.add(target);
+            return path;
         }
-        Collections.reverse(path); // Reverse the path to get the right order
-        return path;
+        return new ArrayList<>(lastTree.getPathTo(target));
     }
 
     /**
-     * Resets the internal state of the algorithm, clearing stored predecessors.
+     * Retrieves the length of the shortest path from the source vertex to the
+     * specified target vertex, or {@link DijkstraGraph#INFINITY} if it is not reachable.
+     *
+     * @throws IllegalStateException if the last computation stopped early before settling the target
+     */
+    public int getDistanceTo(Vertex target) {
+        return lastTree == null ? DijkstraGraph.INFINITY : lastTree.getDistanceTo(target);
+    }
+
+    /**
+     * Resets the internal state of the algorithm, clearing the last result and the cache.
      */
     public void resetState() {
-        predecessorMap.clear();
+        lastTree = null;
+        if (cache != null) {
+            cache.clear();
+        }
+        cachedGraph = null;
     }
 }
@@ -0,0 +1,72 @@
+package graph.dijkstra;
+
+import graph.dijkstra.graph.DijkstraGraph;
+
+import java.util.Arrays;
+
+/**
+ * Represents the distances from a set of source vertices to all vertices of a graph,
+ * stored row by row in a single int array.
+ * <p>
+ * Row r holds the distances from {@link #getSource(int) source r}; unreachable vertices
+ * have the distance {@link DijkstraGraph#INFINITY}. A matrix is immutable once computed.
+ */
+public class DistanceMatrix {
+
+    private final int[] sources;
+    private final int columnCount;
+    private final int[] distances;
+
+    DistanceMatrix(int[] sources, int columnCount, int[] distances) {
+        this.sources = sources;
+        this.columnCount = columnCount;
+        this.distances = distances;
+    }
+
+    /**
+     * Returns the number of rows, one per source vertex.
+     */
+    public int getRowCount() {
+        return sources.length;
+    }
+
+    /**
+     * Returns the number of columns, one per vertex of the graph.
+     */
+    public int getColumnCount() {
+        return columnCount;
+    }
+
+    /**
+     * Returns the number of the source vertex of the specified row.
+     */
+    public int getSource(int row) {
+        return sources[row];
+    }
+
+    /**
+     * Returns the distance from the source of the specified row to the specified vertex.
+     */
+    public int getDistance(int row, int vertex) {
+        checkRow(row);
+        if (vertex < 0 || vertex >= columnCount) {
+            throw new IndexOutOfBoundsException("Vertex: " + vertex + ", Vertex count: " + columnCount);
+        }
+        return distances[row * columnCount + vertex];
+    }
+
+    /**
+     * Returns a copy of the specified row.
+     */
+    public int[] getRow(int row) {
+        checkRow(row);
+        int from = row * columnCount;
+        return Arrays.copyOfRange(distances, from, from + columnCount);
+    }
+
+    private void checkRow(int row) {
+        if (row < 0 || row >= sources.length) {
+            throw new IndexOutOfBoundsException("Row: " + row + ", Row count: " + sources.length);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package graph.dijkstra;
+
+/**
+ * Defines a min-priority queue of vertex ids keyed by their tentative distance from the source,
+ * as used by Dijkstra's algorithm. Ids range from 0 to the capacity of the queue - 1,
+ * and each id can be in the queue at most once.
+ */
+interface DistancePriorityQueue {
+
+    /**
+     * Checks if the queue is empty.
+     */
+    boolean isEmpty();
+
+    /**
+     * Checks if the vertex is currently in the queue.
+     */
+    boolean contains(int vertex);
+
+    /**
+     * Adds a vertex that is not yet in the queue with the specified distance.
+     */
+    void add(int vertex, int distance);
+
+    /**
+     * Lowers the distance of a vertex that is already in the queue.
+     */
+    void decreaseKey(int vertex, int newDistance);
+
+    /**
+     * Removes and returns the vertex with the smallest distance.
+     */
+    int pollSmallest();
+}
@@ -0,0 +1,16 @@
+package graph.dijkstra;
+
+/**
+ * Receives the rows computed by {@link MultiSourceShortestPaths#forEachRow(int[], DistanceRowConsumer)}.
+ * <p>
+ * Rows are delivered from several threads at the same time and in no particular order, so an
+ * implementation must be thread-safe. The array is reused for another row as soon as the
+ * method returns; copy it if it is needed later.
+ */
+public interface DistanceRowConsumer {
+
+    /**
+     * Accepts the distances from the source vertex to every vertex of the graph.
+     */
+    void accept(int source, int[] distances);
+}
@@ -0,0 +1,19 @@
+package graph.dijkstra;
+
+import graph.Vertex;
+
+/**
+ * Estimates the remaining distance from a vertex to the target of an {@link AStarSearch}.
+ * <p>
+ * The estimate must never be greater than the real shortest distance (the heuristic must be
+ * admissible), otherwise A* may return a path that is not the shortest. An estimate of zero for
+ * every vertex is always admissible and turns A* into Dijkstra's algorithm; the closer the
+ * estimates are to the real distances, the fewer vertices the search has to settle.
+ */
+public interface Heuristic {
+
+    /**
+     * Returns a lower bound on the length of the shortest path from the vertex to the target.
+     */
+    int estimate(Vertex vertex, Vertex target);
+}
@@ -0,0 +1,248 @@
+package graph.dijkstra;
+
+import graph.Vertex;
+import graph.dijkstra.graph.DijkstraGraph;
+import graph.dijkstra.graph.EdgeCursor;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Maintains the shortest paths from one source vertex while edge weights of the graph change,
+ * repairing only the vertices whose distance is affected instead of recomputing everything.
+ * <p>
+ * The shortest-path tree is computed once with Dijkstra's algorithm. Afterwards every change
+ * must go through {@link #setEdge(Vertex, Vertex, int)}, which updates the graph and the tree:
+ * <ul>
+ *     <li>If the edge u -> v becomes cheaper (or is new) and now gives v a shorter distance,
+ *     Dijkstra's algorithm is resumed from v alone, so only vertices that really get closer are visited.</li>
+ *     <li>If a tree edge u -> v becomes more expensive, the distances of v and its subtree may grow.
+ *     The subtree is invalidated, each of its vertices takes the best distance offered by an
+ *     incoming edge from outside the subtree, and Dijkstra's algorithm settles the subtree again.
+ *     Incoming edges are found with a reverse adjacency list kept by this class.</li>
+ *     <li>A more expensive edge that is not in the tree changes nothing.</li>
+ * </ul>
+ * The graph must not be changed in any other way while it is maintained, and vertices added
+ * to it afterwards are not known to the maintainer.
+ */
+public class IncrementalShortestPaths {
+
+    private static final int NO_PREDECESSOR = -1;
+
+    private final DijkstraGraph graph;
+    private final List<Vertex> vertices;
+    private final int source;
+    private final int[] distances;
+    private final int[] predecessors;
+    // incoming[v][i] for i < inDegrees[v] are the vertices with an edge to v
+    private final int[][] incoming;
+    private final int[] inDegrees;
+
+    // Working space of the repairs
+    private final IndexedBinaryHeap queue;
+    private final EdgeCursor edges;
+    private final boolean[] affected;
+    private int lastRepairedCount;
+
+    /**
+     * Computes the shortest paths from the source vertex in the specified graph.
+     *
+     * @throws IllegalArgumentException if the source is not in the graph
+     */
+    public IncrementalShortestPaths(DijkstraGraph graph, Vertex source) {
+        this.source = graph.indexOf(source);
+        if (this.source == -1) {
+            throw new IllegalArgumentException("Source vertex is not in the graph");
+        }
+        this.graph = graph;
+        vertices = new ArrayList<>(graph.getVertices());
+        int vertexCount = vertices.size();
+        distances = new int[vertexCount];
+        predecessors = new int[vertexCount];
+        Arrays.fill(distances, DijkstraGraph.INFINITY);
+        Arrays.fill(predecessors, NO_PREDECESSOR);
+        queue = new IndexedBinaryHeap(vertexCount);
+        edges = graph.edgeCursor();
+        affected = new boolean[vertexCount];
+
+        // Build the reverse adjacency lists
+        inDegrees = new int[vertexCount];
+        for (int v = 0; v < vertexCount; v++) {
+            edges.moveTo(v);
+            while (edges.next()) {
+                inDegrees[edges.target()]++;
+            }
+        }
+        incoming = new int[vertexCount][];
+        for (int v = 0; v < vertexCount; v++) {
+            incoming[v] = new int[Math.max(inDegrees[v], 1)];
+            inDegrees[v] = 0;
+        }
+        for (int v = 0; v < vertexCount; v++) {
+            edges.moveTo(v);
+            while (edges.next()) {
+                addIncoming(edges.target(), v);
+            }
+        }
+
+        distances[this.source] = 0;
+        queue.add(this.source, 0);
+        lastRepairedCount = settle();
+    }
+
+    /**
+     * Sets the weight of the edge in the graph, adding the edge if it does not exist,
+     * and repairs the shortest paths.
+     *
+     * @throws IllegalArgumentException if a vertex is unknown, or if the graph rejects the edge
+     */
+    public void setEdge(Vertex from, Vertex to, int weight) {
+        int u = indexOf(from);
+        int v = indexOf(to);
+        int oldWeight = graph.getEdgeWeightBetween(from, to);
+        graph.setEdge(from, to, weight);
+        if (oldWeight == DijkstraGraph.INFINITY) {
+            addIncoming(v, u);
+        }
+
+        lastRepairedCount = 0;
+        if (weight < oldWeight) {
+            decrease(u, v, weight);
+        } else if (weight > oldWeight && predecessors[v] == u) {
+            increase(v);
+        }
+    }
+
+    /**
+     * Returns the length of the shortest path from the source to the target,
+     * or {@link DijkstraGraph#INFINITY} if it is not reachable.
+     *
+     * @throws IllegalArgumentException if the target is unknown
+     */
+    public int getDistanceTo(Vertex target) {
+        return distances[indexOf(target)];
+    }
+
+    /**
+     * Returns the shortest path from the source to the target, or an empty list if it is not reachable.
+     *
+     * @throws IllegalArgumentException if the target is unknown
+     */
+    public List<Vertex> getShortestPathTo(Vertex target) {
+        int index = indexOf(target);
+        List<Vertex> path = new ArrayList<>();
+        if (distances[index] == DijkstraGraph.INFINITY) {
+            return path;
+        }
+        for (int v = index; v != NO_PREDECESSOR; v = predecessors[v]) {
+            path.add(vertices.get(v));
+        }
+        Collections.reverse(path);
+        return path;
+    }
+
+    /**
+     * Returns the number of vertices whose distance was settled again by the last update,
+     * or by the initial computation if there was no update yet.
+     */
+    public int getLastRepairedCount() {
+        return lastRepairedCount;
+    }
+
+    private int indexOf(Vertex vertex) {
+        int index = graph.indexOf(vertex);
+        if (index == -1 || index >= distances.length) {
+            throw new IllegalArgumentException("Vertex is not maintained: " + vertex);
+        }
+        return index;
+    }
+
+    // The edge u -> v got cheaper: propagate the improvement from v if there is one
+    private void decrease(int u, int v, int weight) {
+        if (distances[u] == DijkstraGraph.INFINITY || distances[u] + weight >= distances[v]) {
+            return;
+        }
+        distances[v] = distances[u] + weight;
+        predecessors[v] = u;
+        queue.add(v, distances[v]);
+        lastRepairedCount = settle();
+    }
+
+    // The tree edge into v got more expensive: recompute v and every vertex below it in the tree
+    private void increase(int v) {
+        // Collect the subtree of v by following tree edges downwards
+        List<Integer> subtree = new ArrayList<>();
+        subtree.add(v);
+        affected[v] = true;
+        for (int i = 0; i < subtree.size(); i++) {
+            int parent = subtree.get(i);
+            edges.moveTo(parent);
+            while (edges.next()) {
+                int child = edges.target();
+                if (!affected[child] && predecessors[child] == parent) {
+                    affected[child] = true;
+                    subtree.add(child);
+                }
+            }
+        }
+        for (int w : subtree) {
+            distances[w] = DijkstraGraph.INFINITY;
+            predecessors[w] = NO_PREDECESSOR;
+        }
+        // Each invalidated vertex starts from its best edge coming from outside the subtree
+        for (int w : subtree) {
+            Vertex target = vertices.get(w);
+            for (int i = 0; i < inDegrees[w]; i++) {
+                int x = incoming[w][i];
+                if (affected[x] || distances[x] == DijkstraGraph.INFINITY) {
+                    continue;
+                }
+                int candidate = distances[x] + graph.getEdgeWeightBetween(vertices.get(x), target);
+                if (candidate < distances[w]) {
+                    distances[w] = candidate;
+                    predecessors[w] = x;
+                }
+            }
+            if (distances[w] != DijkstraGraph.INFINITY) {
+                queue.add(w, distances[w]);
+            }
+        }
+        for (int w : subtree) {
+            affected[w] = false;
+        }
+        lastRepairedCount = settle();
+    }
+
+    // Runs Dijkstra's algorithm from the vertices in the queue and returns how many were settled
+    private int settle() {
+        int settled = 0;
+        while (!queue.isEmpty()) {
+            int vertex = queue.pollSmallest();
+            settled++;
+            edges.moveTo(vertex);
+            while (edges.next()) {
+                int neighbor = edges.target();
+                int candidate = distances[vertex] + edges.weight();
+                if (candidate < distances[neighbor]) {
+                    distances[neighbor] = candidate;
+                    predecessors[neighbor] = vertex;
+                    if (queue.contains(neighbor)) {
+                        queue.decreaseKey(neighbor, candidate);
+                    } else {
+                        queue.add(neighbor, candidate);
+                    }
+                }
+            }
+        }
+        return settled;
+    }
+
+    private void addIncoming(int target, int from) {
+        if (inDegrees[target] == incoming[target].length) {
+            incoming[target] = Arrays.copyOf(incoming[target], inDegrees[target] * 2);
+        }
+        incoming[target][inDegrees[target]++] = from;
+    }
+}
@@ -0,0 +1,153 @@
+package graph.dijkstra;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * An indexed binary min-heap of vertex ids keyed by distance.
+ * <p>
+ * Besides the heap array itself, the position of every vertex in the heap is tracked,
+ * so a vertex can be found in O(1) and its distance lowered in O(log n) by sifting it
+ * up from its current position, without searching for it first.
+ */
+class IndexedBinaryHeap implements DistancePriorityQueue {
+
+    private static final int ABSENT = -1;
+
+    // heap[i] is the vertex at position i; the children of i are at 2i + 1 and 2i + 2
+    private final int[] heap;
+    // positions[v] is the position of vertex v in the heap, or ABSENT
+    private final int[] positions;
+    // distances[v] is the key of vertex v while it is in the heap
+    private final int[] distances;
+    private int size;
+
+    /**
+     * Constructs a heap for the vertex ids 0 to 'capacity' - 1.
+     *
+     * @throws IllegalArgumentException if the capacity is less than or equal to zero
+     */
+    IndexedBinaryHeap(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Maximum size must be greater than 0");
+        }
+        heap = new int[capacity];
+        positions = new int[capacity];
+        distances = new int[capacity];
+        Arrays.fill(positions, ABSENT);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public boolean contains(int vertex) {
+        return positions[vertex] != ABSENT;
+    }
+
+    @Override
+    public void add(int vertex, int distance) {
+        if (contains(vertex)) {
+            throw new IllegalStateException("Vertex is already in the queue");
+        }
+        distances[vertex] = distance;
+        heap[size] = vertex;
+        positions[vertex] = size;
+        siftUp(size++);
+    }
+
+    @Override
+    public void decreaseKey(int vertex, int newDistance) {
+        if (!contains(vertex)) {
+            throw new NoSuchElementException("Vertex not found");
+        }
+        if (newDistance > distances[vertex]) {
+            throw new IllegalArgumentException("New distance is greater than the current distance");
+        }
+        distances[vertex] = newDistance;
+        siftUp(positions[vertex]);
+    }
+
+    @Override
+    public int pollSmallest() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("Queue is empty");
+        }
+        int smallest = heap[0];
+        positions[smallest] = ABSENT;
+        size--;
+        if (size > 0) {
+            // Move the last element to the root and restore the heap order
+            heap[0] = heap[size];
+            positions[heap[0]] = 0;
+            siftDown(0);
+        }
+        return smallest;
+    }
+
+    /**
+     * Returns the vertex with the smallest distance without removing it.
+     *
+     * @throws NoSuchElementException if the heap is empty
+     */
+    int peekSmallest() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("Queue is empty");
+        }
+        return heap[0];
+    }
+
+    /**
+     * Removes all vertices, in time proportional to the number of vertices still in the heap.
+     */
+    void clear() {
+        for (int i = 0; i < size; i++) {
+            positions[heap[i]] = ABSENT;
+        }
+        size = 0;
+    }
+
+    private void siftUp(int position) {
+        int vertex = heap[position];
+        int distance = distances[vertex];
+        while (position > 0) {
+            int parentPosition = (position - 1) >>> 1;
+            int parent = heap[parentPosition];
+            if (distances[parent] <= distance) {
+                break;
+            }
+            // Move the parent down one level
+            heap[position] = parent;
+            positions[parent] = position;
+            position = parentPosition;
+        }
+        heap[position] = vertex;
+        positions[vertex] = position;
+    }
+
+    private void siftDown(int position) {
+        int vertex = heap[position];
+        int distance = distances[vertex];
+        while (true) {
+            int child = 2 * position + 1;
+            if (child >= size) {
+                break;
+            }
+            // Pick the smaller of the two children
+            if (child + 1 < size && distances[heap[child + 1]] < distances[heap[child]]) {
+                child++;
+            }
+            if (distances[heap[child]] >= distance) {
+                break;
+            }
+            // Move the child up one level
+            heap[position] = heap[child];
+            positions[heap[position]] = position;
+            position = child;
+        }
+        heap[position] = vertex;
+        positions[vertex] = position;
+    }
+}
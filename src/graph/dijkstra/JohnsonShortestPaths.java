@@ -0,0 +1,138 @@
+package graph.dijkstra;
+
+import graph.CompactGraph;
+import graph.bellmanford.BellmanFordEngine;
+import graph.bellmanford.BellmanFordMode;
+import graph.dijkstra.graph.DijkstraGraph;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Implements Johnson's algorithm for all-pairs shortest paths in a sparse {@link CompactGraph}
+ * whose edges may have negative weights.
+ * <p>
+ * One Bellman-Ford search from a virtual source, which has an edge of weight 0 to every vertex,
+ * gives each vertex v a potential h(v). Every edge u -> v is then reweighted to
+ * w(u, v) + h(u) - h(v), which is never negative, and shortest paths keep their shape, because
+ * the potentials of the inner vertices of a path cancel out. The searches from the individual
+ * sources are Dijkstra searches on the reweighted graph, run in parallel by
+ * {@link MultiSourceShortestPaths}; each distance is turned back into a distance under the
+ * original weights by subtracting h(source) and adding h(target).
+ * <p>
+ * Preparing costs one Bellman-Ford search, O(V * E) in the worst case; each source afterwards
+ * costs one Dijkstra search, O((V + E) log V), instead of another Bellman-Ford search.
+ * <p>
+ * The potentials and reweighted edges are computed in long. The Dijkstra searches work with int
+ * distances, so a graph is rejected up front if some distance, before or after reweighting,
+ * might not fit below {@link DijkstraGraph#INFINITY}.
+ */
+public class JohnsonShortestPaths {
+
+    private final int[] potentials;
+    private final MultiSourceShortestPaths searches;
+
+    /**
+     * Computes the potentials of the graph; the searches run in the common pool.
+     *
+     * @throws IllegalArgumentException if the graph has a negative cycle, or if its distances
+     *                                  might not fit in an int
+     */
+    public JohnsonShortestPaths(CompactGraph graph) {
+        this(graph, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Computes the potentials of the graph; the searches run in the specified pool.
+     *
+     * @throws IllegalArgumentException if the graph has a negative cycle, or if its distances
+     *                                  might not fit in an int
+     */
+    public JohnsonShortestPaths(CompactGraph graph, ForkJoinPool pool) {
+        int vertexCount = graph.getVertexCount();
+        int edgeCount = graph.getEdgeCount();
+
+        // The virtual source is vertex number 'vertexCount', after the vertices of the graph
+        int[] sources = new int[edgeCount + vertexCount];
+        int[] destinations = new int[edgeCount + vertexCount];
+        int[] weights = new int[edgeCount + vertexCount];
+        for (int v = 0; v < vertexCount; v++) {
+            for (int e = graph.edgesStart(v); e < graph.edgesEnd(v); e++) {
+                sources[e] = v;
+                destinations[e] = graph.getTarget(e);
+                weights[e] = graph.getWeight(e);
+            }
+            sources[edgeCount + v] = vertexCount;
+            destinations[edgeCount + v] = v;
+        }
+        BellmanFordEngine.Result result = new BellmanFordEngine(vertexCount + 1, sources, destinations, weights)
+                .run(vertexCount, BellmanFordMode.SPFA);
+        if (result.hasNegativeCycle()) {
+            throw new IllegalArgumentException("Graph has a negative cycle; shortest paths are undefined.");
+        }
+
+        long lowestPotential = 0;
+        for (int v = 0; v < vertexCount; v++) {
+            lowestPotential = Math.min(lowestPotential, result.getDistance(v));
+        }
+        long highestWeight = 0;
+        for (int e = 0; e < edgeCount; e++) {
+            highestWeight = Math.max(highestWeight, graph.getWeight(e));
+        }
+        // A distance from s to t is at least h(t) - h(s) >= lowestPotential and at most
+        // (V - 1) * highestWeight. Reweighting adds h(s) - h(t) <= -lowestPotential, and a
+        // reweighted edge is at most highestWeight - lowestPotential, so no search overflows.
+        long largestDistance = (long) Math.max(vertexCount - 1, 0) * highestWeight - lowestPotential;
+        if (largestDistance >= DijkstraGraph.INFINITY) {
+            throw new IllegalArgumentException("Distances of the graph may reach " + largestDistance
+                    + " and do not fit in an int.");
+        }
+
+        potentials = new int[vertexCount];
+        int[] reweighted = new int[edgeCount];
+        for (int v = 0; v < vertexCount; v++) {
+            potentials[v] = (int) result.getDistance(v);
+        }
+        for (int v = 0; v < vertexCount; v++) {
+            for (int e = graph.edgesStart(v); e < graph.edgesEnd(v); e++) {
+                reweighted[e] = (int) ((long) graph.getWeight(e) + potentials[v] - potentials[graph.getTarget(e)]);
+            }
+        }
+        searches = new MultiSourceShortestPaths(graph.withWeights(reweighted), pool, potentials);
+    }
+
+    /**
+     * Returns the potential of the specified vertex: the length of the shortest path to it
+     * from the virtual source, which is never positive.
+     */
+    public int getPotential(int vertex) {
+        return potentials[vertex];
+    }
+
+    /**
+     * Computes the distances from every vertex to every other vertex.
+     */
+    public DistanceMatrix computeAllPairs() {
+        return searches.computeAllPairs();
+    }
+
+    /**
+     * Computes the distances from each of the specified source vertices to all vertices.
+     * Row r of the result belongs to sources[r].
+     *
+     * @throws IllegalArgumentException if a source is not a vertex number of the graph,
+     *                                  or if the matrix would have more than Integer.MAX_VALUE entries
+     */
+    public DistanceMatrix computeDistances(int[] sources) {
+        return searches.computeDistances(sources);
+    }
+
+    /**
+     * Computes the distances from each of the specified source vertices and passes every
+     * row to the consumer as soon as it is ready. Returns when all rows were delivered.
+     *
+     * @throws IllegalArgumentException if a source is not a vertex number of the graph
+     */
+    public void forEachRow(int[] sources, DistanceRowConsumer consumer) {
+        searches.forEachRow(sources, consumer);
+    }
+}
@@ -0,0 +1,146 @@
+package graph.dijkstra;
+
+import graph.Vertex;
+import graph.dijkstra.graph.DijkstraGraph;
+import graph.dijkstra.graph.DijkstraListGraph;
+import graph.dijkstra.graph.EdgeCursor;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Implements the ALT (A*, landmarks, triangle inequality) lower bounds for {@link AStarSearch}.
+ * <p>
+ * For a few chosen landmark vertices L, the distances from L to every vertex and from every vertex
+ * to L are computed in advance with {@link DijkstraAlgorithm}. By the triangle inequality,
+ * dist(v, t) is at least dist(L, t) - dist(L, v) and at least dist(v, L) - dist(t, L), so the largest
+ * of these differences over all landmarks is an admissible and consistent estimate. Landmarks far
+ * away from each other, for example at the border of the graph, usually give the tightest bounds.
+ * <p>
+ * The estimates describe the graph as it was when the heuristic was built; after edge weights
+ * are lowered the heuristic must be rebuilt, otherwise it may no longer be admissible.
+ */
+public class LandmarkHeuristic implements Heuristic {
+
+    // Translates vertices to the numbers the distance arrays are indexed by
+    private final DijkstraGraph graph;
+    // fromLandmark[l][v] is dist(landmark l, v), toLandmark[l][v] is dist(v, landmark l)
+    private final int[][] fromLandmark;
+    private final int[][] toLandmark;
+
+    /**
+     * Precomputes the distances between the specified landmarks and all vertices of the graph.
+     *
+     * @throws IllegalArgumentException if there are no landmarks or a landmark is not in the graph
+     */
+    public LandmarkHeuristic(DijkstraGraph graph, List<Vertex> landmarks) {
+        if (landmarks.isEmpty()) {
+            throw new IllegalArgumentException("At least one landmark is required.");
+        }
+        for (Vertex landmark : landmarks) {
+            if (graph.indexOf(landmark) == -1) {
+                throw new IllegalArgumentException("Landmark is not in the graph: " + landmark);
+            }
+        }
+
+        this.graph = graph;
+        DijkstraGraph reversed = reverse(graph);
+        DijkstraAlgorithm dijkstra = new DijkstraAlgorithm();
+        fromLandmark = new int[landmarks.size()][];
+        toLandmark = new int[landmarks.size()][];
+        for (int l = 0; l < landmarks.size(); l++) {
+            fromLandmark[l] = distancesFrom(dijkstra, graph, landmarks.get(l));
+            // Distances to the landmark are distances from it in the reversed graph
+            toLandmark[l] = distancesFrom(dijkstra, reversed, landmarks.get(l));
+        }
+    }
+
+    /**
+     * Picks landmarks spread over the graph: starting from the first vertex, each next landmark
+     * is the vertex farthest from all landmarks chosen so far.
+     *
+     * @throws IllegalArgumentException if the count is not positive or greater than the number of vertices
+     */
+    public static List<Vertex> selectFarthestLandmarks(DijkstraGraph graph, int count) {
+        List<Vertex> vertices = graph.getVertices();
+        if (count <= 0 || count > vertices.size()) {
+            throw new IllegalArgumentException("Landmark count must be between 1 and the number of vertices");
+        }
+        List<Vertex> landmarks = new ArrayList<>();
+        // closest[v] is the distance from v to the nearest chosen landmark
+        int[] closest = new int[vertices.size()];
+        Arrays.fill(closest, DijkstraGraph.INFINITY);
+        DijkstraAlgorithm dijkstra = new DijkstraAlgorithm();
+        Vertex next = vertices.get(0);
+        while (landmarks.size() < count) {
+            landmarks.add(next);
+            int[] distances = distancesFrom(dijkstra, graph, next);
+            int farthest = -1;
+            for (int v = 0; v < vertices.size(); v++) {
+                closest[v] = Math.min(closest[v], distances[v]);
+                // Unreachable vertices count as farthest, so other parts of the graph get a landmark too
+                if (closest[v] > 0 && (farthest == -1 || closest[v] > closest[farthest])) {
+                    farthest = v;
+                }
+            }
+            if (farthest == -1) {
+                break; // Every vertex is already a landmark
+            }
+            next = vertices.get(farthest);
+        }
+        return landmarks;
+    }
+
+    @Override
+    public int estimate(Vertex vertex, Vertex target) {
+        int v = graph.indexOf(vertex);
+        int t = graph.indexOf(target);
+        // Vertices added after the heuristic was built have no precomputed distances
+        int known = fromLandmark[0].length;
+        if (v == -1 || t == -1 || v >= known || t >= known) {
+            return 0;
+        }
+        int best = 0;
+        for (int l = 0; l < fromLandmark.length; l++) {
+            int[] from = fromLandmark[l];
+            int[] to = toLandmark[l];
+            // A bound is only meaningful when both distances it is built from are finite
+            if (from[v] != DijkstraGraph.INFINITY && from[t] != DijkstraGraph.INFINITY) {
+                best = Math.max(best, from[t] - from[v]);
+            }
+            if (to[v] != DijkstraGraph.INFINITY && to[t] != DijkstraGraph.INFINITY) {
+                best = Math.max(best, to[v] - to[t]);
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Returns the number of landmarks.
+     */
+    public int getLandmarkCount() {
+        return fromLandmark.length;
+    }
+
+    private static int[] distancesFrom(DijkstraAlgorithm dijkstra, DijkstraGraph graph, Vertex source) {
+        return dijkstra.computePaths(graph, source).getDistances();
+    }
+
+    // Builds a copy of the graph with every edge pointing the other way
+    private static DijkstraGraph reverse(DijkstraGraph graph) {
+        DijkstraListGraph reversed = new DijkstraListGraph();
+        for (Vertex vertex : graph.getVertices()) {
+            reversed.addVertex(vertex);
+        }
+        List<Vertex> vertices = graph.getVertices();
+        EdgeCursor edges = graph.edgeCursor();
+        for (int v = 0; v < vertices.size(); v++) {
+            edges.moveTo(v);
+            while (edges.next()) {
+                reversed.setEdge(vertices.get(edges.target()), vertices.get(v), edges.weight());
+            }
+        }
+        return reversed;
+    }
+}
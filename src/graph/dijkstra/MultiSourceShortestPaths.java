@@ -0,0 +1,209 @@
+package graph.dijkstra;
+
+import graph.CompactGraph;
+import graph.dijkstra.graph.DijkstraGraph;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Computes shortest distances from many source vertices of a {@link CompactGraph} at once,
+ * running one Dijkstra search per source in parallel in a {@link ForkJoinPool}.
+ * <p>
+ * The engine keeps no state between calls other than the graph and the pool, so one instance
+ * can be shared by any number of threads. Every call keeps a small pool of working spaces, each
+ * a distance array and a priority queue. A search borrows one and gives it back when its row is
+ * delivered, so no more working spaces are created than searches run at the same time. They are
+ * dropped when the call returns, so nothing stays attached to the worker threads. Results are
+ * either collected in a {@link DistanceMatrix} or streamed row by row to a
+ * {@link DistanceRowConsumer}, which avoids holding all rows in memory.
+ */
+public class MultiSourceShortestPaths {
+
+    private final CompactGraph graph;
+    private final ForkJoinPool pool;
+    // Vertex potentials of a reweighted graph, see JohnsonShortestPaths; null if the weights are the real ones
+    private final int[] potentials;
+
+    /**
+     * Prepares searches over the specified graph in the common pool.
+     *
+     * @throws IllegalArgumentException if the graph has a negative edge weight
+     */
+    public MultiSourceShortestPaths(CompactGraph graph) {
+        this(graph, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Prepares searches over the specified graph in the specified pool.
+     *
+     * @throws IllegalArgumentException if the graph has a negative edge weight
+     */
+    public MultiSourceShortestPaths(CompactGraph graph, ForkJoinPool pool) {
+        this(graph, pool, null);
+    }
+
+    /**
+     * Prepares searches over a graph whose edge u -> v has the weight w(u, v) + potentials[u] - potentials[v],
+     * turning every distance back into a distance under the original weights before it is returned.
+     */
+    MultiSourceShortestPaths(CompactGraph graph, ForkJoinPool pool, int[] potentials) {
+        for (int e = 0; e < graph.getEdgeCount(); e++) {
+            if (graph.getWeight(e) < 0) {
+                throw new IllegalArgumentException("Edge weight cannot be negative.");
+            }
+        }
+        this.graph = graph;
+        this.pool = pool;
+        this.potentials = potentials;
+    }
+
+    /**
+     * Computes the distances from every vertex to every other vertex.
+     */
+    public DistanceMatrix computeAllPairs() {
+        int[] sources = new int[graph.getVertexCount()];
+        for (int v = 0; v < sources.length; v++) {
+            sources[v] = v;
+        }
+        return computeDistances(sources);
+    }
+
+    /**
+     * Computes the distances from each of the specified source vertices to all vertices.
+     * Row r of the result belongs to sources[r].
+     *
+     * @throws IllegalArgumentException if a source is not a vertex number of the graph,
+     *                                  or if the matrix would have more than Integer.MAX_VALUE entries
+     */
+    public DistanceMatrix computeDistances(int[] sources) {
+        int[] rows = checkedSources(sources);
+        if ((long) rows.length * graph.getVertexCount() > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Distance matrix is too large; use forEachRow instead");
+        }
+        int[] distances = new int[rows.length * graph.getVertexCount()];
+        pool.invoke(new SearchTask(rows, 0, rows.length, distances, null, new ConcurrentLinkedQueue<Scratch>()));
+        return new DistanceMatrix(rows, graph.getVertexCount(), distances);
+    }
+
+    /**
+     * Computes the distances from each of the specified source vertices and passes every
+     * row to the consumer as soon as it is ready. Returns when all rows were delivered.
+     *
+     * @throws IllegalArgumentException if a source is not a vertex number of the graph
+     */
+    public void forEachRow(int[] sources, DistanceRowConsumer consumer) {
+        int[] rows = checkedSources(sources);
+        pool.invoke(new SearchTask(rows, 0, rows.length, null, consumer, new ConcurrentLinkedQueue<Scratch>()));
+    }
+
+    private int[] checkedSources(int[] sources) {
+        for (int source : sources) {
+            if (source < 0 || source >= graph.getVertexCount()) {
+                throw new IllegalArgumentException("Source is not a vertex of the graph: " + source);
+            }
+        }
+        return sources.clone();
+    }
+
+    // Runs Dijkstra's algorithm from 'source', leaving the distances in the working space
+    private int[] search(int source, Scratch s) {
+        int[] distances = s.distances;
+        Arrays.fill(distances, DijkstraGraph.INFINITY);
+        IndexedBinaryHeap queue = s.queue;
+        distances[source] = 0;
+        queue.add(source, 0);
+        while (!queue.isEmpty()) {
+            int vertex = queue.pollSmallest();
+            for (int e = graph.edgesStart(vertex); e < graph.edgesEnd(vertex); e++) {
+                int neighbor = graph.getTarget(e);
+                int candidate = distances[vertex] + graph.getWeight(e);
+                if (candidate < distances[neighbor]) {
+                    distances[neighbor] = candidate;
+                    if (queue.contains(neighbor)) {
+                        queue.decreaseKey(neighbor, candidate);
+                    } else {
+                        queue.add(neighbor, candidate);
+                    }
+                }
+            }
+        }
+        if (potentials != null) {
+            // Along any path the potentials telescope, leaving only those of its two ends
+            for (int v = 0; v < distances.length; v++) {
+                if (distances[v] != DijkstraGraph.INFINITY) {
+                    distances[v] += potentials[v] - potentials[source];
+                }
+            }
+        }
+        return distances;
+    }
+
+    /**
+     * The working space of one search at a time.
+     */
+    private static class Scratch {
+        final int[] distances;
+        final IndexedBinaryHeap queue;
+
+        Scratch(int vertexCount) {
+            distances = new int[vertexCount];
+            queue = new IndexedBinaryHeap(Math.max(vertexCount, 1));
+        }
+    }
+
+    /**
+     * Splits the range of rows in halves until a single source is left, then searches from it.
+     * The rows go either into the matrix or to the consumer.
+     */
+    private class SearchTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int[] sources;
+        private final int start;
+        private final int end;
+        private final int[] matrix;
+        private final DistanceRowConsumer consumer;
+        // Working spaces not in use by any search of this call
+        private final ConcurrentLinkedQueue<Scratch> spares;
+
+        SearchTask(int[] sources, int start, int end, int[] matrix, DistanceRowConsumer consumer,
+                   ConcurrentLinkedQueue<Scratch> spares) {
+            this.sources = sources;
+            this.start = start;
+            this.end = end;
+            this.matrix = matrix;
+            this.consumer = consumer;
+            this.spares = spares;
+        }
+
+        @Override
+        protected void compute() {
+            if (end - start > 1) {
+                int middle = (start + end) >>> 1;
+                invokeAll(new SearchTask(sources, start, middle, matrix, consumer, spares),
+                        new SearchTask(sources, middle, end, matrix, consumer, spares));
+                return;
+            }
+            if (start == end) {
+                return;
+            }
+            Scratch s = spares.poll();
+            if (s == null) {
+                s = new Scratch(graph.getVertexCount());
+            }
+            try {
+                int[] distances = search(sources[start], s);
+                if (matrix != null) {
+                    System.arraycopy(distances, 0, matrix, start * distances.length, distances.length);
+                } else {
+                    consumer.accept(sources[start], distances);
+                }
+            } finally {
+                spares.offer(s);
+            }
+        }
+    }
+}
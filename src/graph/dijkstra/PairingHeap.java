@@ -0,0 +1,153 @@
+package graph.dijkstra;
+
+import java.util.NoSuchElementException;
+
+/**
+ * A pairing min-heap of vertex ids keyed by distance.
+ * <p>
+ * The heap is a single multi-way tree in which every node's distance is not greater than
+ * its children's. Inserting and decreasing a key just link a tree to the root in O(1), and
+ * removing the root pairs up its children in two passes (left to right, then right to left),
+ * which costs O(log n) amortized. The tree is stored in int arrays indexed by vertex id
+ * (first child, next sibling, and previous sibling or parent), so no node objects are allocated.
+ */
+class PairingHeap implements DistancePriorityQueue {
+
+    private static final int NONE = -1;
+
+    private final int[] distances;
+    private final int[] firstChild;
+    private final int[] nextSibling;
+    // The previous sibling of a node, or its parent if the node is the first child
+    private final int[] previous;
+    private final boolean[] inHeap;
+    // Scratch space for the children of the removed root
+    private final int[] pairs;
+    private int root;
+    private int size;
+
+    /**
+     * Constructs a heap for the vertex ids 0 to 'capacity' - 1.
+     *
+     * @throws IllegalArgumentException if the capacity is less than or equal to zero
+     */
+    PairingHeap(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Maximum size must be greater than 0");
+        }
+        distances = new int[capacity];
+        firstChild = new int[capacity];
+        nextSibling = new int[capacity];
+        previous = new int[capacity];
+        inHeap = new boolean[capacity];
+        pairs = new int[capacity];
+        root = NONE;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public boolean contains(int vertex) {
+        return inHeap[vertex];
+    }
+
+    @Override
+    public void add(int vertex, int distance) {
+        if (inHeap[vertex]) {
+            throw new IllegalStateException("Vertex is already in the queue");
+        }
+        distances[vertex] = distance;
+        firstChild[vertex] = NONE;
+        nextSibling[vertex] = NONE;
+        previous[vertex] = NONE;
+        inHeap[vertex] = true;
+        root = root == NONE ? vertex : link(root, vertex);
+        size++;
+    }
+
+    @Override
+    public void decreaseKey(int vertex, int newDistance) {
+        if (!inHeap[vertex]) {
+            throw new NoSuchElementException("Vertex not found");
+        }
+        if (newDistance > distances[vertex]) {
+            throw new IllegalArgumentException("New distance is greater than the current distance");
+        }
+        distances[vertex] = newDistance;
+        if (vertex == root) {
+            return;
+        }
+        // Cut the subtree rooted at the vertex out of its sibling list and link it to the root
+        int prev = previous[vertex];
+        if (firstChild[prev] == vertex) {
+            firstChild[prev] = nextSibling[vertex];
+        } else {
+            nextSibling[prev] = nextSibling[vertex];
+        }
+        if (nextSibling[vertex] != NONE) {
+            previous[nextSibling[vertex]] = prev;
+        }
+        nextSibling[vertex] = NONE;
+        previous[vertex] = NONE;
+        root = link(root, vertex);
+    }
+
+    @Override
+    public int pollSmallest() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("Queue is empty");
+        }
+        int smallest = root;
+        inHeap[smallest] = false;
+        size--;
+
+        // Detach the children of the old root
+        int count = 0;
+        for (int child = firstChild[smallest]; child != NONE; ) {
+            int next = nextSibling[child];
+            nextSibling[child] = NONE;
+            previous[child] = NONE;
+            pairs[count++] = child;
+            child = next;
+        }
+
+        if (count == 0) {
+            root = NONE;
+            return smallest;
+        }
+        // First pass: link the children in pairs from left to right
+        int paired = 0;
+        for (int i = 0; i + 1 < count; i += 2) {
+            pairs[paired++] = link(pairs[i], pairs[i + 1]);
+        }
+        if (count % 2 == 1) {
+            pairs[paired++] = pairs[count - 1];
+        }
+        // Second pass: link the resulting trees from right to left
+        int newRoot = pairs[paired - 1];
+        for (int i = paired - 2; i >= 0; i--) {
+            newRoot = link(pairs[i], newRoot);
+        }
+        root = newRoot;
+        return smallest;
+    }
+
+    // Makes the root with the greater distance the first child of the other root
+    private int link(int a, int b) {
+        if (distances[b] < distances[a]) {
+            int temp = a;
+            a = b;
+            b = temp;
+        }
+        nextSibling[b] = firstChild[a];
+        if (firstChild[a] != NONE) {
+            previous[firstChild[a]] = b;
+        }
+        previous[b] = a;
+        firstChild[a] = b;
+        return a;
+    }
+}
@@ -0,0 +1,22 @@
+package graph.dijkstra;
+
+/**
+ * Enumerates the priority queues that {@link DijkstraAlgorithm} can use to pick
+ * the next closest vertex.
+ */
+public enum PriorityQueueType {
+    /**
+     * A sorted array: O(n) insertion and update, O(1) removal of the smallest element.
+     * Simple, but it makes the algorithm O(V^2) even on sparse graphs.
+     */
+    SORTED_ARRAY,
+    /**
+     * An indexed binary heap: O(log n) insertion, update and removal of the smallest element.
+     */
+    BINARY_HEAP,
+    /**
+     * A pairing heap: O(1) insertion, O(log n) amortized removal of the smallest element,
+     * and a decrease-key that is very fast in practice.
+     */
+    PAIRING_HEAP
+}
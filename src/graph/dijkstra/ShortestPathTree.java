@@ -0,0 +1,159 @@
+package graph.dijkstra;
+
+import graph.Vertex;
+import graph.dijkstra.graph.DijkstraGraph;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Represents the shortest paths from one source vertex, as computed by {@link DijkstraAlgorithm}.
+ * <p>
+ * The distance and the predecessor of every vertex are kept in int arrays indexed by the vertex
+ * number ({@link DijkstraGraph#indexOf(Vertex)}), so a distance query is a single lookup. A path
+ * is only built when it is asked for: the predecessors are followed once to count the vertices
+ * and once more to fill the path from its end, so no list has to be reversed. The tree is
+ * immutable and describes the graph as it was when the tree was computed. It does not copy the
+ * vertices: graphs only ever append vertices, so the graph's own vertex list still resolves
+ * every number the tree knows, and vertices added later are simply outside the tree.
+ * <p>
+ * A tree left behind by a search that stopped early at a target is partial: only the vertices
+ * settled before the search stopped, among them the target and every vertex on its path, have
+ * exact distances. Asking for any other vertex of a partial tree throws an exception instead of
+ * returning a tentative distance.
+ */
+public class ShortestPathTree {
+
+    /**
+     * The predecessor of the source and of unreachable vertices.
+     */
+    public static final int NO_PREDECESSOR = -1;
+
+    private final DijkstraGraph graph;
+    private final List<Vertex> vertices;
+    private final int source;
+    private final int[] distances;
+    private final int[] predecessors;
+    // The vertices whose distance is final, or null if the tree is complete
+    private final boolean[] settled;
+
+    ShortestPathTree(DijkstraGraph graph, int source, int[] distances, int[] predecessors) {
+        this(graph, source, distances, predecessors, null);
+    }
+
+    ShortestPathTree(DijkstraGraph graph, int source, int[] distances, int[] predecessors, boolean[] settled) {
+        this.graph = graph;
+        this.vertices = graph.getVertices();
+        this.source = source;
+        this.distances = distances;
+        this.predecessors = predecessors;
+        this.settled = settled;
+    }
+
+    /**
+     * Returns the source vertex.
+     */
+    public Vertex getSource() {
+        return vertices.get(source);
+    }
+
+    /**
+     * Returns true if the tree holds the final distance of every vertex,
+     * false if it was left by a search that stopped early.
+     */
+    public boolean isComplete() {
+        return settled == null;
+    }
+
+    /**
+     * Returns the number of vertices the tree covers.
+     */
+    public int getVertexCount() {
+        return distances.length;
+    }
+
+    /**
+     * Returns the length of the shortest path to the target, or {@link DijkstraGraph#INFINITY}
+     * if the target is not reachable or was not in the graph when the tree was computed.
+     *
+     * @throws IllegalStateException if the tree is partial and the target was not settled
+     */
+    public int getDistanceTo(Vertex target) {
+        int index = indexOf(target);
+        return index == -1 ? DijkstraGraph.INFINITY : getDistance(index);
+    }
+
+    /**
+     * Returns the length of the shortest path to the vertex with the specified number.
+     *
+     * @throws IllegalStateException if the tree is partial and the vertex was not settled
+     */
+    public int getDistance(int vertex) {
+        checkSettled(vertex);
+        return distances[vertex];
+    }
+
+    /**
+     * Returns the number of the vertex before the specified one on its shortest path,
+     * or {@link #NO_PREDECESSOR} for the source and unreachable vertices.
+     */
+    public int getPredecessor(int vertex) {
+        return predecessors[vertex];
+    }
+
+    /**
+     * Returns true if there is a path from the source to the target.
+     *
+     * @throws IllegalStateException if the tree is partial and the target was not settled
+     */
+    public boolean isReachable(Vertex target) {
+        return getDistanceTo(target) != DijkstraGraph.INFINITY;
+    }
+
+    /**
+     * Returns a copy of all distances, indexed by vertex number.
+     *
+     * @throws IllegalStateException if the tree is partial
+     */
+    public int[] getDistances() {
+        if (settled != null) {
+            throw new IllegalStateException("A partial tree has no complete list of distances");
+        }
+        return distances.clone();
+    }
+
+    /**
+     * Returns the vertices of the shortest path from the source to the target,
+     * or an empty list if the target is not reachable.
+     *
+     * @throws IllegalStateException if the tree is partial and the target was not settled
+     */
+    public List<Vertex> getPathTo(Vertex target) {
+        int index = indexOf(target);
+        if (index == -1 || getDistance(index) == DijkstraGraph.INFINITY) {
+            return Collections.emptyList();
+        }
+        int length = 0;
+        for (int v = index; v != NO_PREDECESSOR; v = predecessors[v]) {
+            length++;
+        }
+        Vertex[] path = new Vertex[length];
+        for (int v = index; v != NO_PREDECESSOR; v = predecessors[v]) {
+            path[--length] = vertices.get(v);
+        }
+        return Collections.unmodifiableList(Arrays.asList(path));
+    }
+
+    private void checkSettled(int vertex) {
+        if (settled != null && !settled[vertex]) {
+            throw new IllegalStateException("The search stopped before the vertex was settled: " + vertices.get(vertex));
+        }
+    }
+
+    private int indexOf(Vertex vertex) {
+        int index = graph.indexOf(vertex);
+        // Vertices added to the graph after the computation are not in the tree
+        return index < distances.length ? index : -1;
+    }
+}
@@ -1,7 +1,5 @@
 package graph.dijkstra;
 
-import graph.Vertex;
-
 import java.util.NoSuchElementException;
 
 /**
@@ -10,17 +8,17 @@ import java.util.NoSuchElementException;
  * non-optimized priority queue. The queue maintains vertices in order of their distance from the source.
  * Each time a vertex is removed, it ensures the vertex with the smallest distance is selected next.
  */
-class VertexDistancePriorityQueue {
+class VertexDistancePriorityQueue implements DistancePriorityQueue {
 
     /**
      * Inner class to hold vertex and its associated distance. This helps manage the mapping of vertices
      * to their current shortest distances as known during the execution of Dijkstra's algorithm.
      */
     private static class VertexDistance {
-        public final Vertex vertex;
+        public final int vertex;
         final int distance;
 
-        private VertexDistance(Vertex vertex, int distance) {
+        private VertexDistance(int vertex, int distance) {
             this.vertex = vertex;
             this.distance = distance;
         }
@@ -49,7 +47,8 @@ class VertexDistancePriorityQueue {
      *
      * @return true if the queue has no elements, false otherwise
      */
-    boolean isEmpty() {
+    @Override
+    public boolean isEmpty() {
         return currentSize == 0;
     }
 
@@ -62,6 +61,15 @@ class VertexDistancePriorityQueue {
         return currentSize == maxSize;
     }
 
+    /**
+     * Checks if the vertex is in the queue.
+     * The search is performed in O(n) time, where n is the number of vertices in the queue.
+     */
+    @Override
+    public boolean contains(int vertex) {
+        return indexOf(vertex) != -1;
+    }
+
     /**
      * Adds a vertex along with its distance to the queue in a sorted order based on the distance.
      * If the queue is full, an IllegalStateException is thrown.
@@ -70,7 +78,8 @@ class VertexDistancePriorityQueue {
      * @param distance the distance of the vertex from the source
      * @throws IllegalStateException if the queue is full
      */
-    void add(Vertex vertex, int distance) {
+    @Override
+    public void add(int vertex, int distance) {
         if (isFull()) {
             throw new IllegalStateException("Queue is full");
         }
@@ -94,7 +103,8 @@ class VertexDistancePriorityQueue {
      * @return the vertex with the smallest distance
      * @throws NoSuchElementException if the queue is empty
      */
-    Vertex pollSmallest() {
+    @Override
+    public int pollSmallest() {
         if (isEmpty()) {
             throw new NoSuchElementException("Queue is empty");
         }
@@ -109,14 +119,9 @@ class VertexDistancePriorityQueue {
      * @param newDistance the new distance of the vertex
      * @throws NoSuchElementException if the vertex is not found in the queue
      */
-    void update(Vertex vertex, int newDistance) {
-        int index = -1;
-        for (int i = 0; i < currentSize; i++) {
-            if (vertexDistances[i].vertex.equals(vertex)) {
-                index = i;
-                break;
-            }
-        }
+    @Override
+    public void decreaseKey(int vertex, int newDistance) {
+        int index = indexOf(vertex);
         if (index == -1) {
             throw new NoSuchElementException("Vertex not found");
         }
@@ -126,4 +131,14 @@ class VertexDistancePriorityQueue {
         // Adding the new vertex-distance pair in sorted order
         add(vertex, newDistance);
     }
+
+    // Finds the position of a vertex in the sorted array, or -1 if it is not present
+    private int indexOf(int vertex) {
+        for (int i = 0; i < currentSize; i++) {
+            if (vertexDistances[i].vertex == vertex) {
+                return i;
+            }
+        }
+        return -1;
+    }
 }
@@ -36,4 +36,17 @@ public interface DijkstraGraph extends WeightedGraph {
      * Retrieves the count of vertices in the graph.
      */
     int getVertexCount();
+
+    /**
+     * Retrieves the number of a vertex, which is its position in {@link #getVertices()},
+     * or -1 if the vertex is not in the graph.
+     */
+    int indexOf(Vertex vertex);
+
+    /**
+     * Creates a cursor over the outgoing edges of the vertices of this graph. Unlike
+     * {@link #getNeighbors(Vertex)} followed by {@link #getEdgeWeightBetween(Vertex, Vertex)},
+     * the cursor visits every edge once and allocates nothing.
+     */
+    EdgeCursor edgeCursor();
 }
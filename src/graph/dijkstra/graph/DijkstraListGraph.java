@@ -1,25 +1,42 @@
 package graph.dijkstra.graph;
 
-import graph.WeightedEdge;
 import graph.Vertex;
+import graph.VertexIndex;
 
 import java.util.*;
 
 /**
  * Implements the DijkstraGraph interface using an adjacency list representation.
  * This class supports directed graphs and is optimized for scenarios where the graph might be sparse.
+ * <p>
+ * The adjacency list of each vertex is kept as two parallel int arrays, the numbers of the
+ * target vertices and the weights of the edges, so an {@link EdgeCursor} reads both in one pass.
+ * The position of every edge in its list is also indexed by the pair of vertex numbers in an
+ * open-addressing hash table of primitive keys and values, so changing the weight of an existing
+ * edge and looking it up take constant time without allocating anything.
  */
 public class DijkstraListGraph implements DijkstraGraph {
 
-    private final Map<Vertex, List<WeightedEdge>> adjacencyList;
-    private final List<Vertex> vertices;
+    private static final int INITIAL_CAPACITY = 4;
+
+    // Maps each vertex to its number and back.
+    private final VertexIndex vertexIndex;
+    // targets[v][i] and weights[v][i] describe the i-th edge of vertex v, for i < degrees[v].
+    private int[][] targets;
+    private int[][] weights;
+    private int[] degrees;
+    // Maps the key of an edge, see edgeKey(), to its position in the source's arrays.
+    private final EdgeTable edgePositions;
 
     /**
      * Constructs an empty DijkstraListGraph with no vertices or edges.
      */
     public DijkstraListGraph() {
-        adjacencyList = new HashMap<>();
-        vertices = new ArrayList<>();
+        vertexIndex = new VertexIndex();
+        targets = new int[INITIAL_CAPACITY][];
+        weights = new int[INITIAL_CAPACITY][];
+        degrees = new int[INITIAL_CAPACITY];
+        edgePositions = new EdgeTable();
     }
 
     /**
@@ -33,10 +50,18 @@ public class DijkstraListGraph implements DijkstraGraph {
         if (vertex == null) {
             throw new IllegalArgumentException("Vertex cannot be null.");
         }
-        if (!adjacencyList.containsKey(vertex)) {
-            adjacencyList.put(vertex, new ArrayList<>());
-            vertices.add(vertex);
+        if (vertexIndex.contains(vertex)) {
+            return;
+        }
+        int index = vertexIndex.add(vertex);
+        if (index == degrees.length) {
+            int capacity = degrees.length * 2;
+            targets = Arrays.copyOf(targets, capacity);
+            weights = Arrays.copyOf(weights, capacity);
+            degrees = Arrays.copyOf(degrees, capacity);
         }
+        targets[index] = new int[INITIAL_CAPACITY];
+        weights[index] = new int[INITIAL_CAPACITY];
     }
 
     /**
@@ -59,7 +84,9 @@ public class DijkstraListGraph implements DijkstraGraph {
             throw new IllegalArgumentException("Cannot add an edge from a vertex to itself.");
         }
 
-        if (!adjacencyList.containsKey(source) || !adjacencyList.containsKey(destination)) {
+        int sourceIndex = vertexIndex.indexOf(source);
+        int destinationIndex = vertexIndex.indexOf(destination);
+        if (sourceIndex == -1 || destinationIndex == -1) {
             throw new IllegalArgumentException("One or both vertices do not exist in the graph.");
         }
 
@@ -67,64 +94,182 @@ public class DijkstraListGraph implements DijkstraGraph {
             throw new IllegalArgumentException("WeightedEdge weight cannot be negative.");
         }
 
-        List<WeightedEdge> edges = adjacencyList.get(source);
-
-        // Remove existing edge if it exists and add new one with updated weight
-        replaceOrUpdateEdge(edges, source, destination, weight);
+        // Update the weight in place if the edge exists, otherwise append it
+        int position = findEdge(sourceIndex, destinationIndex);
+        if (position != -1) {
+            weights[sourceIndex][position] = weight;
+            return;
+        }
+        int degree = degrees[sourceIndex];
+        if (degree == targets[sourceIndex].length) {
+            targets[sourceIndex] = Arrays.copyOf(targets[sourceIndex], degree * 2);
+            weights[sourceIndex] = Arrays.copyOf(weights[sourceIndex], degree * 2);
+        }
+        targets[sourceIndex][degree] = destinationIndex;
+        weights[sourceIndex][degree] = weight;
+        degrees[sourceIndex]++;
+        edgePositions.put(edgeKey(sourceIndex, destinationIndex), degree);
     }
 
     /**
-     * Replaces an existing edge between specified source and destination vertices or
-     * adds a new edge if no existing edge is found.
+     * Finds the position of the edge between the specified vertices in the source's list, or -1.
      */
-    private void replaceOrUpdateEdge(List<WeightedEdge> edgeList, Vertex source, Vertex destination, int weight) {
-        WeightedEdge existingEdge = findEdge(edgeList, source, destination);
-        if (existingEdge != null) {
-            edgeList.remove(existingEdge); // Remove old edge since WeightedEdge properties are final
-        }
-        edgeList.add(new WeightedEdge(source, destination, weight)); // Add new edge with the updated weight
+    private int findEdge(int source, int destination) {
+        return edgePositions.get(edgeKey(source, destination));
     }
 
-    /**
-     * Finds an edge between a specified source and destination vertex.
-     */
-    private WeightedEdge findEdge(List<WeightedEdge> edges, Vertex source, Vertex destination) {
-        for (WeightedEdge e : edges) {
-            if (e.getSource().equals(source) && e.getDestination().equals(destination)) {
-                return e;
-            }
-        }
-        return null;
+    // Packs the numbers of both end vertices into one key
+    private static long edgeKey(int source, int destination) {
+        return ((long) source << 32) | destination;
     }
 
     @Override
     public List<Vertex> getVertices() {
-        return Collections.unmodifiableList(vertices);
+        return vertexIndex.asList();
     }
 
     @Override
     public List<Vertex> getNeighbors(Vertex vertex) {
-        List<Vertex> neighbors = new ArrayList<>();
-        List<WeightedEdge> edges = adjacencyList.get(vertex);
-        for (WeightedEdge e : edges) {
-            neighbors.add(e.getDestination());
+        int index = vertexIndex.indexOf(vertex);
+        if (index == -1) {
+            throw new IllegalArgumentException("Vertex does not exist in the graph");
+        }
+        List<Vertex> neighbors = new ArrayList<>(degrees[index]);
+        for (int i = 0; i < degrees[index]; i++) {
+            neighbors.add(vertexIndex.vertexAt(targets[index][i]));
         }
         return neighbors;
     }
 
     @Override
     public int getEdgeWeightBetween(Vertex source, Vertex destination) {
-        List<WeightedEdge> edges = adjacencyList.get(source);
-        for (WeightedEdge e : edges) {
-            if (e.getDestination().equals(destination)) {
-                return e.getWeight();
-            }
+        int sourceIndex = vertexIndex.indexOf(source);
+        int destinationIndex = vertexIndex.indexOf(destination);
+        if (sourceIndex == -1 || destinationIndex == -1) {
+            return INFINITY;
         }
-        return INFINITY;
+        int position = findEdge(sourceIndex, destinationIndex);
+        return position == -1 ? INFINITY : weights[sourceIndex][position];
     }
 
     @Override
     public int getVertexCount() {
-        return vertices.size();
+        return vertexIndex.size();
+    }
+
+    @Override
+    public int indexOf(Vertex vertex) {
+        return vertexIndex.indexOf(vertex);
+    }
+
+    @Override
+    public EdgeCursor edgeCursor() {
+        return new ListEdgeCursor();
+    }
+
+    /**
+     * Walks through the int arrays of one vertex's adjacency list.
+     */
+    private class ListEdgeCursor implements EdgeCursor {
+        private int vertex;
+        private int position;
+        private int degree;
+
+        @Override
+        public void moveTo(int vertex) {
+            if (vertex < 0 || vertex >= vertexIndex.size()) {
+                throw new IllegalArgumentException("Vertex index out of range: " + vertex);
+            }
+            this.vertex = vertex;
+            position = -1;
+            degree = degrees[vertex];
+        }
+
+        @Override
+        public boolean next() {
+            return ++position < degree;
+        }
+
+        @Override
+        public int target() {
+            return targets[vertex][position];
+        }
+
+        @Override
+        public int weight() {
+            return weights[vertex][position];
+        }
+    }
+
+    /**
+     * Maps edge keys to positions with linear probing in two parallel arrays. Edges are never
+     * removed, so there are no deleted slots; the table doubles when it becomes half full.
+     */
+    private static class EdgeTable {
+        // Edge keys are never negative, so -1 marks an empty slot
+        private static final long EMPTY = -1L;
+
+        private long[] keys;
+        private int[] positions;
+        private int size;
+
+        EdgeTable() {
+            keys = new long[16];
+            positions = new int[16];
+            Arrays.fill(keys, EMPTY);
+        }
+
+        /**
+         * Returns the position stored for the key, or -1 if there is none.
+         */
+        int get(long key) {
+            int mask = keys.length - 1;
+            for (int slot = slotOf(key, mask); keys[slot] != EMPTY; slot = (slot + 1) & mask) {
+                if (keys[slot] == key) {
+                    return positions[slot];
+                }
+            }
+            return -1;
+        }
+
+        /**
+         * Stores the position for a key that is not in the table yet.
+         */
+        void put(long key, int position) {
+            if (2 * (size + 1) > keys.length) {
+                resize();
+            }
+            insert(key, position);
+            size++;
+        }
+
+        private void insert(long key, int position) {
+            int mask = keys.length - 1;
+            int slot = slotOf(key, mask);
+            while (keys[slot] != EMPTY) {
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = key;
+            positions[slot] = position;
+        }
+
+        private void resize() {
+            long[] oldKeys = keys;
+            int[] oldPositions = positions;
+            keys = new long[oldKeys.length * 2];
+            positions = new int[oldKeys.length * 2];
+            Arrays.fill(keys, EMPTY);
+            for (int slot = 0; slot < oldKeys.length; slot++) {
+                if (oldKeys[slot] != EMPTY) {
+                    insert(oldKeys[slot], oldPositions[slot]);
+                }
+            }
+        }
+
+        // Spreads both vertex numbers over the slot bits
+        private static int slotOf(long key, int mask) {
+            long hash = key * 0x9E3779B97F4A7C15L;
+            return (int) (hash ^ (hash >>> 32)) & mask;
+        }
     }
 }
@@ -1,7 +1,7 @@
 package graph.dijkstra.graph;
 
 import graph.Vertex;
-import graph.VertexUtil;
+import graph.VertexIndex;
 
 import java.util.*;
 
@@ -12,12 +12,11 @@ public class DijkstraMatrixGraph implements DijkstraGraph {
 
     private static final int NO_EDGE = INFINITY;
 
-    // Maps each vertex to its corresponding index in the adjacency matrix.
-    private final Map<Vertex, Integer> indicesMap;
+    // Maps each vertex to its corresponding index in the adjacency matrix and back.
+    private final VertexIndex vertexIndex;
     // Represents the edges between vertices.
     private final int[][] adjacencyMatrix;
     private final int maxVertices;
-    private final List<Vertex> vertices;
 
     /**
      * Constructs a new DijkstraMatrixGraph with a specified maximum number of vertices.
@@ -30,10 +29,9 @@ public class DijkstraMatrixGraph implements DijkstraGraph {
      *                                  indicating an invalid size for the graph.
      */
     public DijkstraMatrixGraph(int maxVertexCount) {
-        indicesMap = new HashMap<>();
+        vertexIndex = new VertexIndex();
         adjacencyMatrix = new int[maxVertexCount][maxVertexCount];
         maxVertices = maxVertexCount;
-        vertices = new ArrayList<>();
         for (int i = 0; i < maxVertexCount; i++) {
             Arrays.fill(adjacencyMatrix[i], NO_EDGE); // Initialize all edges to NO_EDGE indicating no direct paths
         }
@@ -52,13 +50,13 @@ public class DijkstraMatrixGraph implements DijkstraGraph {
         if (vertex == null) {
             throw new IllegalArgumentException("Vertex cannot be null.");
         }
-        if (vertices.size() >= maxVertices) {
-            throw new IllegalStateException("Maximum vertices limit reached.");
+        if (vertexIndex.contains(vertex)) {
+            return;
         }
-        if (!indicesMap.containsKey(vertex)) {
-            indicesMap.put(vertex, vertices.size());
-            vertices.add(vertex);
+        if (vertexIndex.size() >= maxVertices) {
+            throw new IllegalStateException("Maximum vertices limit reached.");
         }
+        vertexIndex.add(vertex);
     }
 
     /**
@@ -79,10 +77,12 @@ public class DijkstraMatrixGraph implements DijkstraGraph {
         if (source == destination) {
             throw new IllegalArgumentException("Cannot add an edge from a vertex to itself.");
         }
-        if (!indicesMap.containsKey(source)) {
+        int sourceIndex = vertexIndex.indexOf(source);
+        if (sourceIndex == -1) {
             throw new IllegalArgumentException("Source vertex does not exist in the graph.");
         }
-        if (!indicesMap.containsKey(destination)) {
+        int destinationIndex = vertexIndex.indexOf(destination);
+        if (destinationIndex == -1) {
             throw new IllegalArgumentException("Destination vertex does not exist in the graph.");
         }
 
@@ -90,29 +90,26 @@ public class DijkstraMatrixGraph implements DijkstraGraph {
             throw new IllegalArgumentException("Edge weight cannot be negative.");
         }
 
-        int sourceIndex = indicesMap.get(source);
-        int destinationIndex = indicesMap.get(destination);
-
         adjacencyMatrix[sourceIndex][destinationIndex] = weight;
     }
 
     @Override
     public List<Vertex> getVertices() {
-        return Collections.unmodifiableList(vertices);
+        return vertexIndex.asList();
     }
 
     @Override
     public List<Vertex> getNeighbors(Vertex vertex) {
-        Integer index = indicesMap.get(vertex);
-        if (index == null) {
+        int index = vertexIndex.indexOf(vertex);
+        if (index == -1) {
             throw new IllegalArgumentException("Vertex does not exist in the graph");
         }
         List<Vertex> neighbors = new ArrayList<>();
 
-        for (int i = 0; i < adjacencyMatrix[index].length; i++) {
-            if (adjacencyMatrix[index][i] != NO_EDGE) { // Check if there's an edge
-                Vertex neighbor = VertexUtil.getVertexByIndex(indicesMap, i);
-                neighbors.add(neighbor);
+        int[] row = adjacencyMatrix[index];
+        for (int i = 0; i < vertexIndex.size(); i++) {
+            if (row[i] != NO_EDGE) { // Check if there's an edge
+                neighbors.add(vertexIndex.vertexAt(i));
             }
         }
         return neighbors;
@@ -120,13 +117,62 @@ public class DijkstraMatrixGraph implements DijkstraGraph {
 
     @Override
     public int getEdgeWeightBetween(Vertex source, Vertex destination) {
-        int sourceIndex = indicesMap.get(source);
-        int destinationIndex = indicesMap.get(destination);
+        int sourceIndex = vertexIndex.indexOf(source);
+        int destinationIndex = vertexIndex.indexOf(destination);
         return adjacencyMatrix[sourceIndex][destinationIndex];
     }
 
     @Override
     public int getVertexCount() {
-        return vertices.size();
+        return vertexIndex.size();
+    }
+
+    @Override
+    public int indexOf(Vertex vertex) {
+        return vertexIndex.indexOf(vertex);
+    }
+
+    @Override
+    public EdgeCursor edgeCursor() {
+        return new MatrixEdgeCursor();
+    }
+
+    /**
+     * Walks along one row of the adjacency matrix, stopping only at the entries that hold an edge.
+     */
+    private class MatrixEdgeCursor implements EdgeCursor {
+        private int[] row;
+        private int position;
+
+        @Override
+        public void moveTo(int vertex) {
+            if (vertex < 0 || vertex >= vertexIndex.size()) {
+                throw new IllegalArgumentException("Vertex index out of range: " + vertex);
+            }
+            row = adjacencyMatrix[vertex];
+            position = -1;
+        }
+
+        @Override
+        public boolean next() {
+            if (row == null) {
+                return false;
+            }
+            int size = vertexIndex.size();
+            do {
+                position++;
+            } while (position < size && row[position] == NO_EDGE);
+            return position < size;
+        }
+
+        @Override
+        public int target() {
+            return position;
+        }
+
+        @Override
+        public int weight() {
+            return row[position];
+        }
     }
 }
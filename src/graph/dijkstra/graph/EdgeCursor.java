@@ -0,0 +1,43 @@
+package graph.dijkstra.graph;
+
+/**
+ * Iterates over the outgoing edges of a vertex of a {@link DijkstraGraph}, giving the
+ * target and weight of each edge in one step and without allocating anything.
+ * <p>
+ * Vertices are identified by their number, see {@link DijkstraGraph#indexOf(graph.Vertex)}.
+ * A cursor is reusable: {@link #moveTo(int)} positions it before the first edge of any vertex,
+ * and {@link #next()} advances it to the following edge. A typical loop is:
+ * <pre>
+ * cursor.moveTo(vertex);
+ * while (cursor.next()) {
+ *     relax(cursor.target(), cursor.weight());
+ * }
+ * </pre>
+ * The graph must not be changed while a cursor is used.
+ */
+public interface EdgeCursor {
+
+    /**
+     * Positions the cursor before the first outgoing edge of the vertex with the specified number.
+     *
+     * @throws IllegalArgumentException if the number does not belong to a vertex of the graph
+     */
+    void moveTo(int vertex);
+
+    /**
+     * Advances to the next outgoing edge.
+     *
+     * @return true if there is such an edge, false if all edges of the vertex were visited
+     */
+    boolean next();
+
+    /**
+     * Returns the number of the target vertex of the current edge.
+     */
+    int target();
+
+    /**
+     * Returns the weight of the current edge.
+     */
+    int weight();
+}
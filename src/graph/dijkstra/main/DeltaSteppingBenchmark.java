@@ -0,0 +1,84 @@
+package graph.dijkstra.main;
+
+import graph.CompactGraph;
+import graph.Vertex;
+import graph.VertexImpl;
+import graph.WeightedEdge;
+import graph.dijkstra.DeltaStepping;
+import graph.dijkstra.DijkstraAlgorithm;
+import graph.dijkstra.graph.DijkstraListGraph;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Compares the running time of {@link DeltaStepping} with several bucket widths against
+ * {@link DijkstraAlgorithm} on the same random graph, and checks that all distances agree.
+ * <p>
+ * Usage: DeltaSteppingBenchmark [vertexCount] [edgesPerVertex] [maxWeight]
+ */
+public class DeltaSteppingBenchmark {
+
+    private static final int RUNS = 3;
+
+    public static void main(String[] args) {
+        int vertexCount = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        int edgesPerVertex = args.length > 1 ? Integer.parseInt(args[1]) : 8;
+        int maxWeight = args.length > 2 ? Integer.parseInt(args[2]) : 100;
+
+        // Build the same random graph in both representations
+        Random random = new Random(42);
+        List<Vertex> vertices = new ArrayList<>();
+        DijkstraListGraph listGraph = new DijkstraListGraph();
+        for (int i = 0; i < vertexCount; i++) {
+            Vertex vertex = new VertexImpl("V" + i);
+            vertices.add(vertex);
+            listGraph.addVertex(vertex);
+        }
+        List<WeightedEdge> edges = new ArrayList<>();
+        for (int i = 0; i < vertexCount; i++) {
+            for (int k = 0; k < edgesPerVertex; k++) {
+                int j = random.nextInt(vertexCount);
+                if (i == j || listGraph.getEdgeWeightBetween(vertices.get(i), vertices.get(j)) != DijkstraListGraph.INFINITY) {
+                    continue;
+                }
+                int weight = 1 + random.nextInt(maxWeight);
+                listGraph.setEdge(vertices.get(i), vertices.get(j), weight);
+                edges.add(new WeightedEdge(vertices.get(i), vertices.get(j), weight));
+            }
+        }
+        CompactGraph compactGraph = CompactGraph.fromEdges(vertices, edges);
+        Vertex source = vertices.get(0);
+        System.out.println("Graph: " + vertexCount + " vertices, " + edges.size() + " edges, weights 1.." + maxWeight
+                + ", " + Runtime.getRuntime().availableProcessors() + " processors");
+
+        DijkstraAlgorithm dijkstra = new DijkstraAlgorithm();
+        long best = Long.MAX_VALUE;
+        for (int run = 0; run < RUNS; run++) {
+            long start = System.nanoTime();
+            dijkstra.computePaths(listGraph, source);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        System.out.println("DijkstraAlgorithm: " + best / 1_000_000 + " ms");
+
+        for (int delta : new int[]{maxWeight / 10 + 1, maxWeight / 2 + 1, maxWeight, maxWeight * 4}) {
+            DeltaStepping deltaStepping = new DeltaStepping(compactGraph, delta);
+            int[] distances = null;
+            best = Long.MAX_VALUE;
+            for (int run = 0; run < RUNS; run++) {
+                long start = System.nanoTime();
+                distances = deltaStepping.computeDistances(source);
+                best = Math.min(best, System.nanoTime() - start);
+            }
+            int mismatches = 0;
+            for (int v = 0; v < vertexCount; v++) {
+                if (distances[v] != dijkstra.getDistanceTo(compactGraph.vertexAt(v))) {
+                    mismatches++;
+                }
+            }
+            System.out.println("DeltaStepping (delta " + delta + "): " + best / 1_000_000 + " ms, "
+                    + (mismatches == 0 ? "distances match" : mismatches + " distances differ"));
+        }
+    }
+}
@@ -1,18 +1,38 @@
 package graph.dijkstra.main;
 
+import graph.CompactGraph;
 import graph.GraphRepresentation;
 import graph.Vertex;
 import graph.VertexImpl;
+import graph.WeightedEdge;
+import graph.dijkstra.AStarResult;
+import graph.dijkstra.AStarSearch;
+import graph.dijkstra.BidirectionalDijkstra;
+import graph.dijkstra.ContractionHierarchy;
+import graph.dijkstra.ContractionHierarchyQuery;
 import graph.dijkstra.DijkstraAlgorithm;
+import graph.dijkstra.DistanceMatrix;
+import graph.dijkstra.IncrementalShortestPaths;
+import graph.dijkstra.JohnsonShortestPaths;
+import graph.dijkstra.LandmarkHeuristic;
+import graph.dijkstra.MultiSourceShortestPaths;
+import graph.dijkstra.PriorityQueueType;
+import graph.dijkstra.ShortestPathTree;
 import graph.dijkstra.graph.DijkstraGraph;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
 import java.util.List;
 
 /**
  * This class demonstrates the use of Dijkstra's algorithm to find shortest paths in a graph.
  */
 public class DijkstraMain {
-    public static void main(String[] args) {
+    public static void main(String[] args) throws IOException {
         // Create vertices for the graph
         Vertex a = new VertexImpl("A");
         Vertex b = new VertexImpl("B");
@@ -45,5 +65,67 @@ public class DijkstraMain {
         dijkstraAlgorithm.computePaths(graph, a);
         path = dijkstraAlgorithm.getShortestPathTo(d);
         System.out.println("Path after changing weights: " + path);
+
+        // Keep the trees of recent sources; the second request from A is answered from the cache
+        DijkstraAlgorithm cachingAlgorithm = new DijkstraAlgorithm(PriorityQueueType.BINARY_HEAP, 8);
+        ShortestPathTree tree = cachingAlgorithm.computePaths(graph, a);
+        boolean cached = cachingAlgorithm.computePaths(graph, a) == tree;
+        System.out.println("Tree from A: distance to D " + tree.getDistanceTo(d) + ", path " + tree.getPathTo(d)
+                + ", cached " + cached);
+
+        // Point-to-point query that stops once D is settled
+        dijkstraAlgorithm.resetState();
+        path = dijkstraAlgorithm.shortestPath(graph, a, d);
+        System.out.println("Early-exit path to D: " + path + ", distance " + dijkstraAlgorithm.getDistanceTo(d));
+
+        // The same query with a bidirectional search over a compact copy of the graph
+        CompactGraph compactGraph = CompactGraph.fromEdges(Arrays.asList(a, b, c, d), Arrays.asList(
+                new WeightedEdge(a, b, 53), new WeightedEdge(c, b, 18), new WeightedEdge(a, c, 13),
+                new WeightedEdge(b, d, 28), new WeightedEdge(c, d, 85), new WeightedEdge(a, d, 100)));
+        BidirectionalDijkstra bidirectional = new BidirectionalDijkstra(compactGraph);
+        path = bidirectional.shortestPath(a, d);
+        System.out.println("Bidirectional path to D: " + path + ", distance " + bidirectional.getLastDistance());
+
+        // All-pairs distances computed in parallel, one row per source vertex
+        DistanceMatrix matrix = new MultiSourceShortestPaths(compactGraph).computeAllPairs();
+        for (int row = 0; row < matrix.getRowCount(); row++) {
+            System.out.println("Distances from " + compactGraph.vertexAt(matrix.getSource(row)) + ": "
+                    + Arrays.toString(matrix.getRow(row)));
+        }
+
+        // Johnson's algorithm allows negative weights as long as there is no negative cycle
+        CompactGraph negativeGraph = CompactGraph.fromEdges(Arrays.asList(a, b, c, d), Arrays.asList(
+                new WeightedEdge(a, b, 53), new WeightedEdge(c, b, -18), new WeightedEdge(a, c, 13),
+                new WeightedEdge(b, d, 28), new WeightedEdge(c, d, 85), new WeightedEdge(d, a, 2)));
+        DistanceMatrix johnson = new JohnsonShortestPaths(negativeGraph).computeAllPairs();
+        for (int row = 0; row < johnson.getRowCount(); row++) {
+            System.out.println("Johnson distances from " + negativeGraph.vertexAt(johnson.getSource(row)) + ": "
+                    + Arrays.toString(johnson.getRow(row)));
+        }
+
+        // A* guided by lower bounds from landmarks D and A
+        LandmarkHeuristic heuristic = new LandmarkHeuristic(graph, Arrays.asList(d, a));
+        AStarResult result = new AStarSearch(heuristic).search(graph, a, d);
+        System.out.println("A* path to D: " + result.getPath() + ", distance " + result.getDistance()
+                + ", settled " + result.getSettledCount() + " vertices");
+
+        // Preprocess the graph into a contraction hierarchy, store it and query the stored copy
+        ContractionHierarchy hierarchy = ContractionHierarchy.build(graph);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        hierarchy.save(new DataOutputStream(bytes));
+        ContractionHierarchy loaded = ContractionHierarchy.load(
+                new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())), graph.getVertices());
+        ContractionHierarchyQuery query = new ContractionHierarchyQuery(loaded);
+        path = query.shortestPath(a, d);
+        System.out.println("Contraction hierarchy path to D: " + path + ", distance " + query.getLastDistance());
+
+        // Keep the paths from A up to date while edge weights change
+        IncrementalShortestPaths incremental = new IncrementalShortestPaths(graph, a);
+        incremental.setEdge(c, b, 50); // C to B is on the shortest path and becomes more expensive
+        System.out.println("Path to D after raising C to B: " + incremental.getShortestPathTo(d)
+                + ", repaired " + incremental.getLastRepairedCount() + " vertices");
+        incremental.setEdge(c, d, 20); // A cheaper detour from C
+        System.out.println("Path to D after lowering C to D: " + incremental.getShortestPathTo(d)
+                + ", repaired " + incremental.getLastRepairedCount() + " vertices");
     }
 }
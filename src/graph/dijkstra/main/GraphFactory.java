@@ -20,6 +20,8 @@ class GraphFactory {
             case MATRIX:
                 graph = new DijkstraMatrixGraph(vertices.length);
                 break;
+            case BIT_MATRIX:
+                throw new IllegalArgumentException("Bit matrix representation only supports unweighted graphs.");
             case LIST:
                 graph = new DijkstraListGraph();
                 break;
@@ -2,9 +2,11 @@ package graph.mst.prim.graph;
 
 import graph.WeightedEdge;
 import graph.Vertex;
-import graph.VertexUtil;
+import graph.VertexIndex;
 
-import java.util.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 /**
  * Implements the PrimGraph interface using an adjacency
@@ -14,21 +16,19 @@ public class PrimMatrixGraph implements PrimGraph {
 
     private static final int NO_EDGE = Integer.MAX_VALUE;
 
-    // Maps each vertex to its corresponding index in the adjacency matrix.
-    private final Map<Vertex, Integer> indicesMap;
+    // Maps each vertex to its corresponding index in the adjacency matrix and back.
+    private final VertexIndex vertexIndex;
     // Represents the edges between vertices.
     private final int[][] adjacencyMatrix;
     private final int maxVertices;
-    private int currentVertexCount;
 
     /**
      * Constructs a graph with a specified maximum number of vertices.
      */
     public PrimMatrixGraph(int maxVertexCount) {
-        indicesMap = new HashMap<>();
+        vertexIndex = new VertexIndex();
         adjacencyMatrix = new int[maxVertexCount][maxVertexCount];
         maxVertices = maxVertexCount;
-        currentVertexCount = 0;
         for (int i = 0; i < maxVertexCount; i++) {
             Arrays.fill(adjacencyMatrix[i], NO_EDGE);
         }
@@ -43,10 +43,13 @@ public class PrimMatrixGraph implements PrimGraph {
         if (vertex == null) {
             throw new IllegalArgumentException("Vertex cannot be null.");
         }
-        if (currentVertexCount >= maxVertices) {
+        if (vertexIndex.contains(vertex)) {
+            return;
+        }
+        if (vertexIndex.size() >= maxVertices) {
             throw new IllegalStateException("Maximum vertices limit reached.");
         }
-        indicesMap.putIfAbsent(vertex, currentVertexCount++);
+        vertexIndex.add(vertex);
     }
 
     /**
@@ -61,32 +64,31 @@ public class PrimMatrixGraph implements PrimGraph {
         if (source == destination) {
             throw new IllegalArgumentException("Cannot add an edge from a vertex to itself.");
         }
-        if (!indicesMap.containsKey(source)) {
+        int sourceIndex = vertexIndex.indexOf(source);
+        if (sourceIndex == -1) {
             throw new IllegalArgumentException("Source vertex does not exist in the graph.");
         }
-        if (!indicesMap.containsKey(destination)) {
+        int destinationIndex = vertexIndex.indexOf(destination);
+        if (destinationIndex == -1) {
             throw new IllegalArgumentException("Destination vertex does not exist in the graph.");
         }
 
-        int sourceIndex = indicesMap.get(source);
-        int destinationIndex = indicesMap.get(destination);
-
         adjacencyMatrix[sourceIndex][destinationIndex] = weight;
         adjacencyMatrix[destinationIndex][sourceIndex] = weight;
     }
 
     @Override
     public List<WeightedEdge> getEdgesForSource(Vertex source) {
-        Integer index = indicesMap.get(source);
-        if (index == null) {
+        int index = vertexIndex.indexOf(source);
+        if (index == -1) {
             throw new IllegalArgumentException("Vertex does not exist in the graph");
         }
         List<WeightedEdge> edges = new ArrayList<>();
 
-        for (int i = 0; i < adjacencyMatrix[index].length; i++) {
-            if (adjacencyMatrix[index][i] != NO_EDGE) { // Check if there's an edge
-                Vertex neighbor = VertexUtil.getVertexByIndex(indicesMap, i);
-                edges.add(new WeightedEdge(source, neighbor, adjacencyMatrix[index][i]));
+        int[] row = adjacencyMatrix[index];
+        for (int i = 0; i < vertexIndex.size(); i++) {
+            if (row[i] != NO_EDGE) { // Check if there's an edge
+                edges.add(new WeightedEdge(source, vertexIndex.vertexAt(i), row[i]));
             }
         }
         return edges;
@@ -94,11 +96,11 @@ public class PrimMatrixGraph implements PrimGraph {
 
     @Override
     public int getVertexCount() {
-        return currentVertexCount;
+        return vertexIndex.size();
     }
 
     @Override
     public boolean containsVertex(Vertex vertex) {
-        return indicesMap.get(vertex) != null;
+        return vertexIndex.contains(vertex);
     }
 }
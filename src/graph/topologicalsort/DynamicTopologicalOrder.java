@@ -0,0 +1,331 @@
+package graph.topologicalsort;
+
+import java.util.Arrays;
+
+/**
+ * Maintains a topological order of a directed acyclic graph while edges are added,
+ * using the algorithm of Pearce and Kelly.
+ * <p>
+ * Every vertex has a position in the order. An edge x -> y with x already before y does not
+ * change the order. Otherwise only the vertices between y and x can be in the wrong place: a
+ * search forward from y collects the vertices reachable from y that are not after x, and a search
+ * backward from x collects the vertices that reach x and are not before y. If the forward search
+ * meets x, the edge would close a cycle and is rejected. Otherwise the backward set is moved in
+ * front of the forward set, using exactly the positions the two sets occupied before, so the rest
+ * of the order is untouched. The cost of an insertion depends on the size of the affected region,
+ * not on the size of the graph, plus the check for a duplicate edge that every insertion makes,
+ * even one that agrees with the order: a scan of the shorter of the successors of x and the
+ * predecessors of y.
+ * <p>
+ * Vertices are the numbers 0 to getVertexCount() - 1; new vertices are placed at the end of the order.
+ */
+public class DynamicTopologicalOrder {
+
+    private static final int INITIAL_CAPACITY = 4;
+    private static final int[] NO_CYCLE = new int[0];
+
+    private int vertexCount;
+    private int edgeCount;
+    // positions[v] is the position of v in the order, and order[p] the vertex at position p
+    private int[] positions;
+    private int[] order;
+    // successors[v][i] for i < outDegrees[v] are the targets of v's edges; predecessors likewise
+    private int[][] successors;
+    private int[][] predecessors;
+    private int[] outDegrees;
+    private int[] inDegrees;
+
+    // Working space of the searches, sized to the vertex capacity
+    private boolean[] visited;
+    private int[] parents;
+    private int[] stack;
+    private int[] forwardSet;
+    private int[] backwardSet;
+    private long[] keys;
+    private int[] freedPositions;
+    private int lastReorderedCount;
+
+    /**
+     * Constructs an order of the specified number of vertices without edges, in ascending vertex order.
+     *
+     * @throws IllegalArgumentException if the vertex count is negative
+     */
+    public DynamicTopologicalOrder(int vertexCount) {
+        if (vertexCount < 0) {
+            throw new IllegalArgumentException("Vertex count cannot be negative");
+        }
+        allocate(Math.max(vertexCount, INITIAL_CAPACITY));
+        for (int v = 0; v < vertexCount; v++) {
+            addVertex();
+        }
+    }
+
+    /**
+     * Adds a vertex without edges at the end of the order and returns its number.
+     */
+    public int addVertex() {
+        if (vertexCount == positions.length) {
+            allocate(vertexCount * 2);
+        }
+        int vertex = vertexCount++;
+        positions[vertex] = vertex;
+        order[vertex] = vertex;
+        successors[vertex] = new int[INITIAL_CAPACITY];
+        predecessors[vertex] = new int[INITIAL_CAPACITY];
+        return vertex;
+    }
+
+    /**
+     * Adds the edge from -> to and updates the order, unless the edge would close a cycle.
+     * Adding an edge that already exists changes nothing.
+     *
+     * @return an empty array if the edge was added, otherwise the vertices of the cycle it would
+     * close: 'from', then 'to', then the existing path back, each vertex with an edge to the next
+     * @throws IllegalArgumentException if a vertex number is out of range
+     */
+    public int[] addEdge(int from, int to) {
+        checkVertex(from);
+        checkVertex(to);
+        lastReorderedCount = 0;
+        if (from == to) {
+            return new int[]{from};
+        }
+        if (containsEdge(from, to)) {
+            return NO_CYCLE;
+        }
+
+        int lowerBound = positions[to];
+        int upperBound = positions[from];
+        if (lowerBound < upperBound) {
+            int forwardCount = searchForward(to, from, upperBound);
+            if (forwardCount == -1) {
+                return extractCycle(from, to);
+            }
+            int backwardCount = searchBackward(from, lowerBound);
+            reorder(forwardCount, backwardCount);
+            lastReorderedCount = forwardCount + backwardCount;
+        }
+
+        successors[from] = append(successors[from], outDegrees[from]++, to);
+        predecessors[to] = append(predecessors[to], inDegrees[to]++, from);
+        edgeCount++;
+        return NO_CYCLE;
+    }
+
+    /**
+     * Returns true if the graph has the edge from -> to.
+     *
+     * @throws IllegalArgumentException if a vertex number is out of range
+     */
+    public boolean hasEdge(int from, int to) {
+        checkVertex(from);
+        checkVertex(to);
+        return containsEdge(from, to);
+    }
+
+    /**
+     * Returns the position of the vertex in the current order.
+     *
+     * @throws IllegalArgumentException if the vertex number is out of range
+     */
+    public int getPosition(int vertex) {
+        checkVertex(vertex);
+        return positions[vertex];
+    }
+
+    /**
+     * Returns a copy of the current order: for every edge u -> v, u comes before v.
+     */
+    public int[] getOrder() {
+        return Arrays.copyOf(order, vertexCount);
+    }
+
+    /**
+     * Returns the number of vertices.
+     */
+    public int getVertexCount() {
+        return vertexCount;
+    }
+
+    /**
+     * Returns the number of edges.
+     */
+    public int getEdgeCount() {
+        return edgeCount;
+    }
+
+    /**
+     * Returns the number of vertices that the last accepted edge moved, or could have moved.
+     */
+    public int getLastReorderedCount() {
+        return lastReorderedCount;
+    }
+
+    /**
+     * Marks the vertices reachable from 'start' that are before the upper bound and stores them
+     * in forwardSet. Returns their number, or -1 if the search reaches 'target'; the marks are
+     * then cleared before returning, while the parents are kept for extracting the cycle.
+     */
+    private int searchForward(int start, int target, int upperBound) {
+        int count = 0;
+        int top = 0;
+        visited[start] = true;
+        parents[start] = -1;
+        forwardSet[count++] = start;
+        stack[top++] = start;
+        while (top > 0) {
+            int vertex = stack[--top];
+            for (int i = 0; i < outDegrees[vertex]; i++) {
+                int next = successors[vertex][i];
+                if (next == target) {
+                    parents[target] = vertex;
+                    clearMarks(forwardSet, count);
+                    return -1;
+                }
+                // Vertices after the upper bound are already after 'target'
+                if (!visited[next] && positions[next] < upperBound) {
+                    visited[next] = true;
+                    parents[next] = vertex;
+                    forwardSet[count++] = next;
+                    stack[top++] = next;
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Stores the vertices that reach 'start' and are after the lower bound in backwardSet
+     * and returns their number.
+     */
+    private int searchBackward(int start, int lowerBound) {
+        int count = 0;
+        int top = 0;
+        visited[start] = true;
+        backwardSet[count++] = start;
+        stack[top++] = start;
+        while (top > 0) {
+            int vertex = stack[--top];
+            for (int i = 0; i < inDegrees[vertex]; i++) {
+                int previous = predecessors[vertex][i];
+                if (!visited[previous] && positions[previous] > lowerBound) {
+                    visited[previous] = true;
+                    backwardSet[count++] = previous;
+                    stack[top++] = previous;
+                }
+            }
+        }
+        return count;
+    }
+
+    // Puts the backward set before the forward set, reusing the positions both occupy
+    private void reorder(int forwardCount, int backwardCount) {
+        sortByPosition(backwardSet, backwardCount);
+        sortByPosition(forwardSet, forwardCount);
+        int total = 0;
+        for (int i = 0; i < backwardCount; i++) {
+            freedPositions[total++] = positions[backwardSet[i]];
+        }
+        for (int i = 0; i < forwardCount; i++) {
+            freedPositions[total++] = positions[forwardSet[i]];
+        }
+        Arrays.sort(freedPositions, 0, total);
+
+        int next = 0;
+        for (int i = 0; i < backwardCount; i++) {
+            place(backwardSet[i], freedPositions[next++]);
+        }
+        for (int i = 0; i < forwardCount; i++) {
+            place(forwardSet[i], freedPositions[next++]);
+        }
+        clearMarks(backwardSet, backwardCount);
+        clearMarks(forwardSet, forwardCount);
+    }
+
+    // Sorts the first 'count' vertices of the array by their current position
+    private void sortByPosition(int[] vertices, int count) {
+        for (int i = 0; i < count; i++) {
+            keys[i] = ((long) positions[vertices[i]] << 32) | vertices[i];
+        }
+        Arrays.sort(keys, 0, count);
+        for (int i = 0; i < count; i++) {
+            vertices[i] = (int) keys[i];
+        }
+    }
+
+    private void place(int vertex, int position) {
+        positions[vertex] = position;
+        order[position] = vertex;
+    }
+
+    // The forward search stopped at 'from'; its parents lead back from 'from' to 'to'
+    private int[] extractCycle(int from, int to) {
+        int length = 1;
+        for (int v = parents[from]; v != to; v = parents[v]) {
+            length++;
+        }
+        int[] cycle = new int[length + 1];
+        cycle[0] = from;
+        int v = parents[from];
+        for (int i = length; i >= 1; i--) {
+            cycle[i] = v;
+            v = parents[v];
+        }
+        return cycle;
+    }
+
+    private void clearMarks(int[] vertices, int count) {
+        for (int i = 0; i < count; i++) {
+            visited[vertices[i]] = false;
+        }
+    }
+
+    private void checkVertex(int vertex) {
+        if (vertex < 0 || vertex >= vertexCount) {
+            throw new IllegalArgumentException("Vertex out of range: " + vertex);
+        }
+    }
+
+    // Scans the shorter of the successors of 'from' and the predecessors of 'to'
+    private boolean containsEdge(int from, int to) {
+        if (outDegrees[from] <= inDegrees[to]) {
+            return contains(successors[from], outDegrees[from], to);
+        }
+        return contains(predecessors[to], inDegrees[to], from);
+    }
+
+    private static boolean contains(int[] array, int count, int value) {
+        for (int i = 0; i < count; i++) {
+            if (array[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Stores the value at the index, growing the array if it is full
+    private static int[] append(int[] array, int index, int value) {
+        if (index == array.length) {
+            array = Arrays.copyOf(array, index * 2);
+        }
+        array[index] = value;
+        return array;
+    }
+
+    private void allocate(int capacity) {
+        positions = positions == null ? new int[capacity] : Arrays.copyOf(positions, capacity);
+        order = order == null ? new int[capacity] : Arrays.copyOf(order, capacity);
+        successors = successors == null ? new int[capacity][] : Arrays.copyOf(successors, capacity);
+        predecessors = predecessors == null ? new int[capacity][] : Arrays.copyOf(predecessors, capacity);
+        outDegrees = outDegrees == null ? new int[capacity] : Arrays.copyOf(outDegrees, capacity);
+        inDegrees = inDegrees == null ? new int[capacity] : Arrays.copyOf(inDegrees, capacity);
+        // The working space holds no state between calls
+        visited = new boolean[capacity];
+        parents = new int[capacity];
+        stack = new int[capacity];
+        forwardSet = new int[capacity];
+        backwardSet = new int[capacity];
+        keys = new long[capacity];
+        freedPositions = new int[capacity];
+    }
+}
@@ -0,0 +1,95 @@
+package graph.topologicalsort;
+
+import java.util.Arrays;
+
+/**
+ * Represents the result of {@link TopologicalSorter}: a topological order of the vertices
+ * and the level of every vertex.
+ * <p>
+ * The level of a vertex is the number of edges on the longest path that ends in it, so level 0
+ * holds the vertices without incoming edges, and every edge leads to a higher level. The vertices
+ * of one level, its wavefront, do not depend on each other and could be processed at the same time.
+ * The order lists the wavefronts one after another.
+ * <p>
+ * If the graph has a cycle, the order and the levels only cover the vertices that do not depend
+ * on a cycle; all other vertices have the level {@link #NO_LEVEL}.
+ */
+public class TopologicalOrder {
+
+    /**
+     * The level of the vertices that are on a cycle or reachable from one.
+     */
+    public static final int NO_LEVEL = -1;
+
+    private final int[] order;
+    private final int[] levels;
+    // The wavefront of level k occupies order[levelStarts[k]] up to order[levelStarts[k + 1]]
+    private final int[] levelStarts;
+
+    TopologicalOrder(int[] order, int[] levels, int[] levelStarts) {
+        this.order = order;
+        this.levels = levels;
+        this.levelStarts = levelStarts;
+    }
+
+    /**
+     * Returns true if the graph has a cycle, so not all vertices could be ordered.
+     */
+    public boolean hasCycle() {
+        return order.length != levels.length;
+    }
+
+    /**
+     * Returns a copy of the order: for every edge u -> v between ordered vertices, u comes before v.
+     */
+    public int[] getOrder() {
+        return order.clone();
+    }
+
+    /**
+     * Returns the number of ordered vertices.
+     */
+    public int getOrderedCount() {
+        return order.length;
+    }
+
+    /**
+     * Returns the vertex at the specified position of the order.
+     */
+    public int getVertexAt(int position) {
+        return order[position];
+    }
+
+    /**
+     * Returns the level of the vertex, or {@link #NO_LEVEL} if it depends on a cycle.
+     */
+    public int getLevel(int vertex) {
+        return levels[vertex];
+    }
+
+    /**
+     * Returns a copy of the levels of all vertices, indexed by vertex number.
+     */
+    public int[] getLevels() {
+        return levels.clone();
+    }
+
+    /**
+     * Returns the number of levels.
+     */
+    public int getLevelCount() {
+        return levelStarts.length - 1;
+    }
+
+    /**
+     * Returns the vertices of the specified level.
+     *
+     * @throws IndexOutOfBoundsException if there is no such level
+     */
+    public int[] getWavefront(int level) {
+        if (level < 0 || level >= getLevelCount()) {
+            throw new IndexOutOfBoundsException("Level: " + level + ", Level count: " + getLevelCount());
+        }
+        return Arrays.copyOfRange(order, levelStarts[level], levelStarts[level + 1]);
+    }
+}
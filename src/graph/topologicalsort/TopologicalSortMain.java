@@ -1,5 +1,6 @@
 package graph.topologicalsort;
 
+import graph.CompactGraph;
 import graph.Edge;
 import graph.Vertex;
 import graph.VertexImpl;
@@ -98,6 +99,10 @@ public class TopologicalSortMain {
         demonstrateDAG();
         System.out.println();
         demonstrateCyclicGraph();
+        System.out.println();
+        demonstrateSorter();
+        System.out.println();
+        demonstrateDynamicOrder();
     }
 
     /**
@@ -159,6 +164,56 @@ public class TopologicalSortMain {
         printResult(topologicalSort(vertices, edges));
     }
 
+    /**
+     * Sorts the graph of the first example with {@link TopologicalSorter}, which also reports
+     * the wavefronts: the groups of vertices that do not depend on each other. The graph is
+     * built directly from vertex numbers, A to E being 0 to 4, without any vertex or edge objects.
+     */
+    private static void demonstrateSorter() {
+        System.out.println("=== Example 3: Topological sorter with levels ===");
+
+        String[] names = {"A", "B", "C", "D", "E"};
+        int[] sources = {0, 0, 1, 2, 3};
+        int[] destinations = {1, 2, 3, 3, 4};
+        CompactGraph graph = CompactGraph.fromArrays(names.length, sources, destinations);
+        TopologicalSorter sorter = new TopologicalSorter(graph);
+        TopologicalOrder order = sorter.sortParallel();
+        for (int level = 0; level < order.getLevelCount(); level++) {
+            System.out.println("Level " + level + ": " + toNames(order.getWavefront(level), names));
+        }
+    }
+
+    /**
+     * Builds the dependencies of the first example one edge at a time with
+     * {@link DynamicTopologicalOrder}, then tries to add an edge that closes a cycle.
+     * The vertices E to A are numbered 0 to 4, so the initial order is the reverse of a valid one.
+     */
+    private static void demonstrateDynamicOrder() {
+        System.out.println("=== Example 4: Topological order maintained under edge insertions ===");
+
+        String[] names = {"E", "D", "C", "B", "A"};
+        DynamicTopologicalOrder order = new DynamicTopologicalOrder(names.length);
+        int[][] edges = {{1, 0}, {3, 1}, {2, 1}, {4, 3}, {4, 2}, {0, 3}};
+        for (int[] edge : edges) {
+            int[] cycle = order.addEdge(edge[0], edge[1]);
+            String description = names[edge[0]] + " -> " + names[edge[1]];
+            if (cycle.length == 0) {
+                System.out.println("Added " + description + ", order: " + toNames(order.getOrder(), names)
+                        + ", moved " + order.getLastReorderedCount() + " vertices");
+            } else {
+                System.out.println("Rejected " + description + ", it would close the cycle " + toNames(cycle, names));
+            }
+        }
+    }
+
+    private static List<String> toNames(int[] vertices, String[] names) {
+        List<String> result = new ArrayList<>();
+        for (int vertex : vertices) {
+            result.add(names[vertex]);
+        }
+        return result;
+    }
+
     private static void printResult(TopologicalSortResult result) {
         if (result.hasCycle) {
             System.out.println("Cycle detected — topological sort is not possible.");
@@ -0,0 +1,191 @@
+package graph.topologicalsort;
+
+import graph.CompactGraph;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Implements Kahn's algorithm over a {@link CompactGraph}, computing a topological order
+ * together with the level (wavefront) of every vertex.
+ * <p>
+ * The vertices are processed one wavefront at a time: the vertices without incoming edges form
+ * level 0, and a vertex joins level k + 1 when the last of its predecessors was in level k.
+ * In-degrees are kept in an int array indexed by vertex number and the order itself serves as
+ * the queue, so no other collections are needed.
+ * <p>
+ * {@link #sortParallel()} processes the vertices of each wavefront in parallel in a
+ * {@link ForkJoinPool}. The in-degrees are then decremented atomically, so exactly one thread
+ * sees a vertex become ready. Each task collects its ready vertices in a buffer of its own and
+ * reserves a block of the order for them at the end, so the threads share only one counter.
+ * The levels are the same as those of {@link #sort()}, but the order within a wavefront may differ.
+ */
+public class TopologicalSorter {
+
+    // Number of wavefront vertices below which a parallel task is not split further
+    private static final int THRESHOLD = 1024;
+
+    private final CompactGraph graph;
+    private final ForkJoinPool pool;
+
+    /**
+     * Prepares sorting the specified graph; the parallel variant runs in the common pool.
+     */
+    public TopologicalSorter(CompactGraph graph) {
+        this(graph, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Prepares sorting the specified graph; the parallel variant runs in the specified pool.
+     */
+    public TopologicalSorter(CompactGraph graph, ForkJoinPool pool) {
+        this.graph = graph;
+        this.pool = pool;
+    }
+
+    /**
+     * Computes the topological order and the levels in the calling thread.
+     */
+    public TopologicalOrder sort() {
+        int vertexCount = graph.getVertexCount();
+        int[] inDegrees = countInDegrees();
+        int[] order = new int[vertexCount];
+        int[] levels = new int[vertexCount];
+        int end = startOrder(inDegrees, order, levels);
+        // There are at most as many levels as vertices
+        int[] levelStarts = new int[vertexCount + 1];
+
+        int start = 0;
+        int level = 0;
+        while (start < end) {
+            levelStarts[level] = start;
+            int levelEnd = end;
+            for (int i = start; i < levelEnd; i++) {
+                int vertex = order[i];
+                for (int e = graph.edgesStart(vertex); e < graph.edgesEnd(vertex); e++) {
+                    int neighbor = graph.getTarget(e);
+                    if (--inDegrees[neighbor] == 0) {
+                        levels[neighbor] = level + 1;
+                        order[end++] = neighbor;
+                    }
+                }
+            }
+            start = levelEnd;
+            level++;
+        }
+        levelStarts[level] = end;
+        return new TopologicalOrder(Arrays.copyOf(order, end), levels, Arrays.copyOf(levelStarts, level + 1));
+    }
+
+    /**
+     * Computes the topological order and the levels, processing each wavefront in parallel.
+     */
+    public TopologicalOrder sortParallel() {
+        int vertexCount = graph.getVertexCount();
+        int[] inDegrees = countInDegrees();
+        int[] order = new int[vertexCount];
+        int[] levels = new int[vertexCount];
+        int end = startOrder(inDegrees, order, levels);
+        AtomicIntegerArray remaining = new AtomicIntegerArray(inDegrees);
+        AtomicInteger tail = new AtomicInteger(end);
+        int[] levelStarts = new int[vertexCount + 1];
+
+        int start = 0;
+        int level = 0;
+        while (start < end) {
+            levelStarts[level] = start;
+            WavefrontTask task = new WavefrontTask(order, levels, remaining, tail, start, end, level + 1);
+            if (end - start <= THRESHOLD) {
+                task.compute();
+            } else {
+                pool.invoke(task);
+            }
+            start = end;
+            end = tail.get();
+            level++;
+        }
+        levelStarts[level] = end;
+        return new TopologicalOrder(Arrays.copyOf(order, end), levels, Arrays.copyOf(levelStarts, level + 1));
+    }
+
+    private int[] countInDegrees() {
+        int[] inDegrees = new int[graph.getVertexCount()];
+        for (int e = 0; e < graph.getEdgeCount(); e++) {
+            inDegrees[graph.getTarget(e)]++;
+        }
+        return inDegrees;
+    }
+
+    // Puts the vertices without incoming edges into level 0 and returns how many there are
+    private static int startOrder(int[] inDegrees, int[] order, int[] levels) {
+        int end = 0;
+        for (int v = 0; v < inDegrees.length; v++) {
+            if (inDegrees[v] == 0) {
+                order[end++] = v;
+                levels[v] = 0;
+            } else {
+                levels[v] = TopologicalOrder.NO_LEVEL;
+            }
+        }
+        return end;
+    }
+
+    /**
+     * Processes a range of one wavefront, splitting it in halves while it is larger than the threshold.
+     * The vertices that become ready are appended to the order as the next wavefront.
+     */
+    private class WavefrontTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int[] order;
+        private final int[] levels;
+        private final AtomicIntegerArray remaining;
+        private final AtomicInteger tail;
+        private final int start;
+        private final int end;
+        private final int nextLevel;
+
+        WavefrontTask(int[] order, int[] levels, AtomicIntegerArray remaining, AtomicInteger tail,
+                      int start, int end, int nextLevel) {
+            this.order = order;
+            this.levels = levels;
+            this.remaining = remaining;
+            this.tail = tail;
+            this.start = start;
+            this.end = end;
+            this.nextLevel = nextLevel;
+        }
+
+        @Override
+        protected void compute() {
+            if (end - start > THRESHOLD) {
+                int middle = (start + end) >>> 1;
+                invokeAll(new WavefrontTask(order, levels, remaining, tail, start, middle, nextLevel),
+                        new WavefrontTask(order, levels, remaining, tail, middle, end, nextLevel));
+                return;
+            }
+            int[] ready = new int[16];
+            int size = 0;
+            for (int i = start; i < end; i++) {
+                int vertex = order[i];
+                for (int e = graph.edgesStart(vertex); e < graph.edgesEnd(vertex); e++) {
+                    int neighbor = graph.getTarget(e);
+                    // Only the thread that removes the last incoming edge sees zero
+                    if (remaining.decrementAndGet(neighbor) == 0) {
+                        levels[neighbor] = nextLevel;
+                        if (size == ready.length) {
+                            ready = Arrays.copyOf(ready, size * 2);
+                        }
+                        ready[size++] = neighbor;
+                    }
+                }
+            }
+            if (size > 0) {
+                System.arraycopy(ready, 0, order, tail.getAndAdd(size), size);
+            }
+        }
+    }
+}
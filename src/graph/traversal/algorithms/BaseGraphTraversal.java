@@ -1,7 +1,6 @@
 package graph.traversal.algorithms;
 
 import graph.Vertex;
-import graph.traversal.graph.ExplorableGraph;
 
 import java.util.*;
 
@@ -21,22 +20,9 @@ abstract class BaseGraphTraversal implements GraphTraversal {
     }
 
     /**
-     * Finds an unvisited neighbor of the specified vertex in the given graph.
-     *
-     * @param vertex The vertex whose unvisited neighbor is to be found.
-     * @return The first unvisited neighbor of the vertex, or null if all neighbors have been visited.
+     * Checks whether the vertex has already been visited during the current traversal.
      */
-    Vertex findUnvisitedNeighbor(ExplorableGraph graph, Vertex vertex) {
-        List<Vertex> neighbors = graph.getNeighbors(vertex);
-        for (Vertex v : neighbors) {
-            if (!isVisited(v)) {
-                return v;
-            }
-        }
-        return null;
-    }
-
-    private boolean isVisited(Vertex vertex) {
+    boolean isVisited(Vertex vertex) {
         return visitedStatusSet.contains(vertex);
     }
 
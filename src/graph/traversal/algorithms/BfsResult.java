@@ -0,0 +1,67 @@
+package graph.traversal.algorithms;
+
+/**
+ * Holds the output of a breadth-first search over integer vertex ids: the level (distance
+ * in edges from the source) and the BFS-tree parent of every vertex.
+ */
+public class BfsResult {
+
+    /**
+     * The level and parent reported for vertices that the search did not reach.
+     */
+    public static final int UNREACHED = -1;
+
+    private final int source;
+    private final int[] levels;
+    private final int[] parents;
+
+    BfsResult(int source, int[] levels, int[] parents) {
+        this.source = source;
+        this.levels = levels;
+        this.parents = parents;
+    }
+
+    /**
+     * Returns the id of the vertex the search started from.
+     */
+    public int getSource() {
+        return source;
+    }
+
+    /**
+     * Returns the number of edges on a shortest path from the source to the vertex,
+     * or {@link #UNREACHED} if the vertex is not reachable.
+     */
+    public int getLevel(int vertex) {
+        return levels[vertex];
+    }
+
+    /**
+     * Returns the parent of the vertex in the BFS tree. The source is its own parent,
+     * and unreachable vertices have the parent {@link #UNREACHED}.
+     */
+    public int getParent(int vertex) {
+        return parents[vertex];
+    }
+
+    /**
+     * Checks whether the vertex is reachable from the source.
+     */
+    public boolean isReached(int vertex) {
+        return levels[vertex] != UNREACHED;
+    }
+
+    /**
+     * Returns a copy of the level of every vertex.
+     */
+    public int[] getLevels() {
+        return levels.clone();
+    }
+
+    /**
+     * Returns a copy of the parent of every vertex.
+     */
+    public int[] getParents() {
+        return parents.clone();
+    }
+}
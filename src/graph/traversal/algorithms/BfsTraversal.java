@@ -3,7 +3,7 @@ package graph.traversal.algorithms;
 import graph.Vertex;
 import graph.traversal.graph.ExplorableGraph;
 
-import java.util.LinkedList;
+import java.util.ArrayDeque;
 import java.util.Queue;
 
 /**
@@ -13,15 +13,18 @@ public class BfsTraversal extends BaseGraphTraversal {
 
     @Override
     public void traverse(ExplorableGraph graph, Vertex startVertex) {
-        Queue<Vertex> queue = new LinkedList<>();
+        Queue<Vertex> queue = new ArrayDeque<>();
         visit(startVertex);
         queue.add(startVertex);
         while (!queue.isEmpty()) {
             Vertex head = queue.remove();
-            Vertex unvisitedNeighbor;
-            while ((unvisitedNeighbor = findUnvisitedNeighbor(graph, head)) != null) {
-                visit(unvisitedNeighbor);
-                queue.add(unvisitedNeighbor);
+            // A single pass over the neighbors visits them in the same order as repeatedly
+            // looking for the first unvisited one, without rescanning the list each time
+            for (Vertex neighbor : graph.getNeighbors(head)) {
+                if (!isVisited(neighbor)) {
+                    visit(neighbor);
+                    queue.add(neighbor);
+                }
             }
         }
     }
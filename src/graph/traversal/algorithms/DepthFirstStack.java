@@ -0,0 +1,76 @@
+package graph.traversal.algorithms;
+
+import graph.traversal.graph.ExplorableGraph;
+import graph.traversal.graph.NeighborCursor;
+
+import java.util.Arrays;
+
+/**
+ * Represents the explicit stack of an iterative depth-first search.
+ * <p>
+ * Each frame holds a vertex and a {@link NeighborCursor} positioned at the next neighbor to
+ * examine. When the search returns to a vertex, it continues from the cursor rather than
+ * rescanning the neighbors from the beginning, so every edge is examined exactly once. The
+ * cursors are created once per depth and reused by every frame at that depth, so a search
+ * allocates nothing once the stack has reached its deepest point. Keeping track of visited
+ * vertices is left to the caller.
+ */
+class DepthFirstStack {
+
+    /**
+     * Returned by {@link #nextNeighbor()} when the top frame has no neighbors left.
+     */
+    static final int NONE = -1;
+
+    private final ExplorableGraph graph;
+    private int[] vertices = new int[16];
+    private NeighborCursor[] cursors = new NeighborCursor[16];
+    private int depth;
+
+    DepthFirstStack(ExplorableGraph graph) {
+        this.graph = graph;
+    }
+
+    /**
+     * Opens a new frame for the vertex on top of the stack.
+     */
+    void push(int vertex) {
+        if (depth == vertices.length) {
+            vertices = Arrays.copyOf(vertices, depth * 2);
+            cursors = Arrays.copyOf(cursors, depth * 2);
+        }
+        if (cursors[depth] == null) {
+            cursors[depth] = graph.neighborCursor();
+        }
+        vertices[depth] = vertex;
+        cursors[depth].moveTo(vertex);
+        depth++;
+    }
+
+    /**
+     * Removes the top frame and returns its vertex.
+     */
+    int pop() {
+        return vertices[--depth];
+    }
+
+    /**
+     * Returns the vertex of the top frame.
+     */
+    int peek() {
+        return vertices[depth - 1];
+    }
+
+    boolean isEmpty() {
+        return depth == 0;
+    }
+
+    /**
+     * Returns the next neighbor of the top frame and moves its cursor past it,
+     * or {@link #NONE} if all its neighbors have been examined.
+     */
+    int nextNeighbor() {
+        NeighborCursor cursor = cursors[depth - 1];
+        return cursor.next() ? cursor.neighbor() : NONE;
+    }
+}
@@ -0,0 +1,138 @@
+package graph.traversal.algorithms;
+
+import graph.Vertex;
+import graph.traversal.graph.ExplorableGraph;
+
+import java.util.Arrays;
+
+/**
+ * Performs an iterative depth-first search that reports discovery and finish times
+ * and classifies every edge of the searched graph.
+ * <p>
+ * The search never recurses, so it cannot overflow the call stack on long paths. Instead, it
+ * keeps a {@link DepthFirstStack}, whose frames remember how far the neighbors of each vertex
+ * have been examined, so every edge is examined exactly once.
+ * <p>
+ * The graphs are undirected, and {@link ExplorableGraph} stores every edge in both directions,
+ * so each edge is examined twice but reported only once. The direction back to the parent of a
+ * vertex belongs to the tree edge that discovered it and is skipped. Any other edge reaches
+ * either an undiscovered vertex, making it a {@link EdgeType#TREE} edge, or an ancestor still on
+ * the stack, making it a {@link EdgeType#BACK} edge; its other direction is met again from the
+ * ancestor once the descendant is finished and is skipped then. An undirected search therefore
+ * has neither {@link EdgeType#FORWARD} nor {@link EdgeType#CROSS} edges.
+ */
+public class DfsEngine {
+
+    private final ExplorableGraph graph;
+    private final DfsVisitor visitor;
+
+    private int[] discoveryTimes;
+    private int[] finishTimes;
+    private int[] parents;
+    private int time;
+    private DepthFirstStack stack;
+
+    /**
+     * Constructs an engine for the specified graph.
+     *
+     * @param visitor receives the search events, or null if only the times are needed
+     */
+    public DfsEngine(ExplorableGraph graph, DfsVisitor visitor) {
+        this.graph = graph;
+        this.visitor = visitor;
+    }
+
+    /**
+     * Searches every vertex reachable from the start vertex.
+     *
+     * @throws IllegalArgumentException if the start vertex is not in the graph
+     */
+    public DfsResult run(Vertex startVertex) {
+        int startIndex = graph.indexOf(startVertex);
+        if (startIndex == -1) {
+            throw new IllegalArgumentException("Start vertex does not exist in the graph");
+        }
+        initialize();
+        search(startIndex);
+        return new DfsResult(discoveryTimes, finishTimes, parents);
+    }
+
+    /**
+     * Searches the whole graph, starting a new tree of the DFS forest
+     * from every vertex not reached yet, in index order.
+     */
+    public DfsResult runAll() {
+        initialize();
+        for (int i = 0; i < graph.getVertexCount(); i++) {
+            if (discoveryTimes[i] == DfsResult.NONE) {
+                search(i);
+            }
+        }
+        return new DfsResult(discoveryTimes, finishTimes, parents);
+    }
+
+    private void initialize() {
+        int vertexCount = graph.getVertexCount();
+        discoveryTimes = new int[vertexCount];
+        finishTimes = new int[vertexCount];
+        parents = new int[vertexCount];
+        Arrays.fill(discoveryTimes, DfsResult.NONE);
+        Arrays.fill(finishTimes, DfsResult.NONE);
+        Arrays.fill(parents, DfsResult.NONE);
+        time = 0;
+        stack = new DepthFirstStack(graph);
+    }
+
+    private void search(int root) {
+        discover(root);
+        while (!stack.isEmpty()) {
+            int vertex = stack.peek();
+            int neighbor = stack.nextNeighbor();
+
+            if (neighbor == DepthFirstStack.NONE) {
+                // All edges examined: finish the vertex and return to its parent
+                stack.pop();
+                finishTimes[vertex] = time++;
+                if (visitor != null) {
+                    visitor.onFinish(graph.vertexAt(vertex));
+                }
+                continue;
+            }
+
+            EdgeType type = classify(vertex, neighbor);
+            if (type == null) {
+                continue;
+            }
+            if (visitor != null) {
+                visitor.onEdge(graph.vertexAt(vertex), graph.vertexAt(neighbor), type);
+            }
+            if (type == EdgeType.TREE) {
+                parents[neighbor] = vertex;
+                discover(neighbor);
+            }
+        }
+    }
+
+    // Returns the type of the edge, or null if it was already reported from its other end
+    private EdgeType classify(int vertex, int neighbor) {
+        if (discoveryTimes[neighbor] == DfsResult.NONE) {
+            return EdgeType.TREE;
+        }
+        if (neighbor == parents[vertex]) {
+            return null; // The tree edge that discovered the vertex
+        }
+        if (finishTimes[neighbor] == DfsResult.NONE) {
+            return EdgeType.BACK; // Still on the stack
+        }
+        return null; // A finished descendant, whose edge to this vertex was reported as BACK
+    }
+
+    // Discovers the vertex and opens a new stack frame for it
+    private void discover(int vertex) {
+        discoveryTimes[vertex] = time++;
+        if (visitor != null) {
+            visitor.onDiscover(graph.vertexAt(vertex));
+        }
+        stack.push(vertex);
+    }
+}
@@ -5,6 +5,9 @@ import graph.traversal.graph.ExplorableGraph;
 
 /**
  * Implements the recursive Depth-First Search (DFS) traversal algorithm for graph.
+ * <p>
+ * The recursion depth equals the length of the current DFS path, so very long paths can
+ * overflow the call stack; {@link DfsTraversal} and {@link DfsEngine} do not recurse.
  */
 public class DfsRecursiveTraversal extends BaseGraphTraversal {
 
@@ -20,9 +23,10 @@ public class DfsRecursiveTraversal extends BaseGraphTraversal {
         visit(vertex);
 
         // Recursively visit all unvisited neighbor vertices
-        Vertex unvisitedNeighbor;
-        while ((unvisitedNeighbor = findUnvisitedNeighbor(graph, vertex)) != null) {
-            recursiveDfs(graph, unvisitedNeighbor);
+        for (Vertex neighbor : graph.getNeighbors(vertex)) {
+            if (!isVisited(neighbor)) {
+                recursiveDfs(graph, neighbor);
+            }
         }
     }
 
@@ -0,0 +1,66 @@
+package graph.traversal.algorithms;
+
+/**
+ * Holds the output of a depth-first search over the vertex indices of a graph:
+ * the discovery time, finish time and DFS-tree parent of every vertex.
+ * <p>
+ * Times come from a single counter that is incremented on every discovery and
+ * every finish, so for any two vertices u and v the intervals
+ * [discovery, finish] are either nested or disjoint.
+ */
+public class DfsResult {
+
+    /**
+     * The time and parent reported for vertices that the search did not reach,
+     * and the parent of every root of the DFS forest.
+     */
+    public static final int NONE = -1;
+
+    private final int[] discoveryTimes;
+    private final int[] finishTimes;
+    private final int[] parents;
+
+    DfsResult(int[] discoveryTimes, int[] finishTimes, int[] parents) {
+        this.discoveryTimes = discoveryTimes;
+        this.finishTimes = finishTimes;
+        this.parents = parents;
+    }
+
+    /**
+     * Returns the time at which the vertex was discovered, or {@link #NONE}.
+     */
+    public int getDiscoveryTime(int vertex) {
+        return discoveryTimes[vertex];
+    }
+
+    /**
+     * Returns the time at which the vertex was finished, or {@link #NONE}.
+     */
+    public int getFinishTime(int vertex) {
+        return finishTimes[vertex];
+    }
+
+    /**
+     * Returns the parent of the vertex in the DFS forest, or {@link #NONE} for roots and unreached vertices.
+     */
+    public int getParent(int vertex) {
+        return parents[vertex];
+    }
+
+    /**
+     * Checks whether the search reached the vertex.
+     */
+    public boolean isReached(int vertex) {
+        return discoveryTimes[vertex] != NONE;
+    }
+
+    /**
+     * Checks whether 'ancestor' is an ancestor of 'descendant' in the DFS forest
+     * (every vertex is its own ancestor).
+     */
+    public boolean isAncestor(int ancestor, int descendant) {
+        return isReached(ancestor) && isReached(descendant)
+                && discoveryTimes[ancestor] <= discoveryTimes[descendant]
+                && finishTimes[descendant] <= finishTimes[ancestor];
+    }
+}
@@ -5,24 +5,33 @@ import graph.traversal.graph.ExplorableGraph;
 
 import java.util.ArrayDeque;
 import java.util.Deque;
+import java.util.Iterator;
 
 /**
  * Implements the Depth-First Search (DFS) traversal algorithm for graph.
+ * <p>
+ * Each stack entry keeps an iterator over the neighbors of its vertex, so when the search
+ * returns to a vertex it continues where it left off instead of rescanning the neighbor list.
+ * {@link DfsEngine} offers the same traversal with callbacks, times and edge classification.
  */
 public class DfsTraversal extends BaseGraphTraversal {
 
     @Override
     public void traverse(ExplorableGraph graph, Vertex startVertex) {
-        Deque<Vertex> stack = new ArrayDeque<>();
+        // The stack holds a cursor over the remaining neighbors of every vertex on the path
+        Deque<Iterator<Vertex>> stack = new ArrayDeque<>();
         visit(startVertex);
-        stack.push(startVertex);
+        stack.push(graph.getNeighbors(startVertex).iterator());
         while (!stack.isEmpty()) {
-            Vertex unvisitedNeighbor = findUnvisitedNeighbor(graph, stack.peek());
-            if (unvisitedNeighbor == null) {
+            Iterator<Vertex> neighbors = stack.peek();
+            if (!neighbors.hasNext()) {
                 stack.pop();
-            } else {
-                visit(unvisitedNeighbor);
-                stack.push(unvisitedNeighbor);
+                continue;
+            }
+            Vertex neighbor = neighbors.next();
+            if (!isVisited(neighbor)) {
+                visit(neighbor);
+                stack.push(graph.getNeighbors(neighbor).iterator());
             }
         }
     }
@@ -0,0 +1,24 @@
+package graph.traversal.algorithms;
+
+import graph.Vertex;
+
+/**
+ * Receives the events of a depth-first search performed by {@link DfsEngine}.
+ */
+public interface DfsVisitor {
+
+    /**
+     * Called when a vertex is discovered, before any of its edges are examined (pre-order).
+     */
+    void onDiscover(Vertex vertex);
+
+    /**
+     * Called once for every edge of the searched graph, together with its classification.
+     */
+    void onEdge(Vertex source, Vertex destination, EdgeType type);
+
+    /**
+     * Called when all edges of a vertex have been examined (post-order).
+     */
+    void onFinish(Vertex vertex);
+}
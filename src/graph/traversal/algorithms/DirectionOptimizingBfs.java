@@ -0,0 +1,167 @@
+package graph.traversal.algorithms;
+
+import graph.CompactGraph;
+import graph.Vertex;
+
+import java.util.Arrays;
+
+/**
+ * Implements a level-synchronous breadth-first search over a {@link CompactGraph}
+ * that switches between two ways of expanding a level.
+ * <ul>
+ *   <li><b>Top-down</b>: every vertex of the current frontier scans its outgoing edges
+ *       and claims the unvisited neighbors. This is cheap while the frontier is small.</li>
+ *   <li><b>Bottom-up</b>: every unvisited vertex scans its incoming edges and stops at the
+ *       first one whose source is in the frontier. When the frontier is large (typical for
+ *       the middle levels of low-diameter graphs), most unvisited vertices find a parent after
+ *       a few checks, so far fewer edges are examined than in a top-down step.</li>
+ * </ul>
+ * The search starts top-down, switches to bottom-up once the frontier's outgoing edges exceed
+ * a fraction of the edges of the unvisited vertices, and switches back when the frontier
+ * shrinks to a small fraction of the vertices. Membership in the frontier is tested with a bitmap.
+ */
+public class DirectionOptimizingBfs {
+
+    // Switch to bottom-up when the frontier edges exceed the unexplored edges divided by ALPHA
+    private static final int ALPHA = 14;
+    // Switch back to top-down when the frontier has fewer than vertexCount / BETA vertices
+    private static final int BETA = 24;
+
+    private final CompactGraph graph;
+    private final CompactGraph incoming;
+
+    /**
+     * Prepares a search over the specified directed graph. The reverse graph, which
+     * bottom-up steps need, is built once here and reused by every search.
+     */
+    public DirectionOptimizingBfs(CompactGraph graph) {
+        this(graph, graph.reverse());
+    }
+
+    /**
+     * Prepares a search over the specified graph using an already built reverse graph.
+     * For an undirected graph the graph itself can be passed as its reverse.
+     */
+    public DirectionOptimizingBfs(CompactGraph graph, CompactGraph incoming) {
+        if (graph.getVertexCount() != incoming.getVertexCount()) {
+            throw new IllegalArgumentException("The reverse graph must have the same vertices.");
+        }
+        this.graph = graph;
+        this.incoming = incoming;
+    }
+
+    /**
+     * Runs the search from the specified vertex.
+     *
+     * @throws IllegalArgumentException if the source is not in the graph
+     */
+    public BfsResult search(Vertex source) {
+        int sourceIndex = graph.indexOf(source);
+        if (sourceIndex == -1) {
+            throw new IllegalArgumentException("Source vertex is not in the graph");
+        }
+        return search(sourceIndex);
+    }
+
+    /**
+     * Runs the search from the vertex with the specified id.
+     *
+     * @throws IllegalArgumentException if the id is out of range
+     */
+    public BfsResult search(int source) {
+        int vertexCount = graph.getVertexCount();
+        if (source < 0 || source >= vertexCount) {
+            throw new IllegalArgumentException("Source vertex is not in the graph");
+        }
+
+        int[] levels = new int[vertexCount];
+        int[] parents = new int[vertexCount];
+        Arrays.fill(levels, BfsResult.UNREACHED);
+        Arrays.fill(parents, BfsResult.UNREACHED);
+
+        int[] frontier = new int[vertexCount];
+        int[] next = new int[vertexCount];
+        long[] frontierBits = new long[(vertexCount + 63) >>> 6];
+
+        levels[source] = 0;
+        parents[source] = source;
+        frontier[0] = source;
+        int frontierSize = 1;
+        // Outgoing edges of the vertices that have not been visited yet
+        long unexploredEdges = graph.getEdgeCount() - graph.getOutDegree(source);
+        boolean bottomUp = false;
+
+        for (int level = 1; frontierSize > 0; level++) {
+            long frontierEdges = 0;
+            for (int i = 0; i < frontierSize; i++) {
+                frontierEdges += graph.getOutDegree(frontier[i]);
+            }
+
+            if (!bottomUp && frontierEdges > unexploredEdges / ALPHA) {
+                bottomUp = true;
+            } else if (bottomUp && frontierSize < vertexCount / BETA) {
+                bottomUp = false;
+            }
+
+            int nextSize;
+            if (bottomUp) {
+                for (int i = 0; i < frontierSize; i++) {
+                    frontierBits[frontier[i] >>> 6] |= 1L << frontier[i];
+                }
+                nextSize = bottomUpStep(levels, parents, frontierBits, next, level);
+                // Clear only the words that were set, instead of the whole bitmap
+                for (int i = 0; i < frontierSize; i++) {
+                    frontierBits[frontier[i] >>> 6] = 0;
+                }
+            } else {
+                nextSize = topDownStep(levels, parents, frontier, frontierSize, next, level);
+            }
+
+            for (int i = 0; i < nextSize; i++) {
+                unexploredEdges -= graph.getOutDegree(next[i]);
+            }
+            int[] temp = frontier;
+            frontier = next;
+            next = temp;
+            frontierSize = nextSize;
+        }
+        return new BfsResult(source, levels, parents);
+    }
+
+    // Expands the frontier along the outgoing edges of its vertices
+    private int topDownStep(int[] levels, int[] parents, int[] frontier, int frontierSize, int[] next, int level) {
+        int nextSize = 0;
+        for (int i = 0; i < frontierSize; i++) {
+            int vertex = frontier[i];
+            for (int e = graph.edgesStart(vertex); e < graph.edgesEnd(vertex); e++) {
+                int neighbor = graph.getTarget(e);
+                if (levels[neighbor] == BfsResult.UNREACHED) {
+                    levels[neighbor] = level;
+                    parents[neighbor] = vertex;
+                    next[nextSize++] = neighbor;
+                }
+            }
+        }
+        return nextSize;
+    }
+
+    // Lets every unvisited vertex look for a parent in the frontier among its incoming edges
+    private int bottomUpStep(int[] levels, int[] parents, long[] frontierBits, int[] next, int level) {
+        int nextSize = 0;
+        for (int vertex = 0; vertex < levels.length; vertex++) {
+            if (levels[vertex] != BfsResult.UNREACHED) {
+                continue;
+            }
+            for (int e = incoming.edgesStart(vertex); e < incoming.edgesEnd(vertex); e++) {
+                int predecessor = incoming.getTarget(e);
+                if ((frontierBits[predecessor >>> 6] & (1L << predecessor)) != 0) {
+                    levels[vertex] = level;
+                    parents[vertex] = predecessor;
+                    next[nextSize++] = vertex;
+                    break;
+                }
+            }
+        }
+        return nextSize;
+    }
+}
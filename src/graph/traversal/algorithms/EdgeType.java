@@ -0,0 +1,24 @@
+package graph.traversal.algorithms;
+
+/**
+ * Enumerates the kinds of edges distinguished by a depth-first search.
+ */
+public enum EdgeType {
+    /**
+     * An edge leading to a vertex discovered through it; tree edges form the DFS forest.
+     */
+    TREE,
+    /**
+     * An edge leading to an ancestor that is still on the DFS stack.
+     */
+    BACK,
+    /**
+     * An edge leading to an already finished descendant; only directed graphs have such edges.
+     */
+    FORWARD,
+    /**
+     * An edge leading to an already finished vertex that is not a descendant; only directed graphs
+     * have such edges.
+     */
+    CROSS
+}
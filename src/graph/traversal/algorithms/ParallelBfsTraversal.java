@@ -0,0 +1,189 @@
+package graph.traversal.algorithms;
+
+import graph.Vertex;
+import graph.traversal.graph.ExplorableGraph;
+import graph.traversal.graph.NeighborCursor;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Implements a multi-threaded Breadth-First Search (BFS) traversal algorithm for graph.
+ * <p>
+ * The search proceeds level by level. Each level's frontier is cut into chunks of
+ * {@value #SEQUENTIAL_THRESHOLD} vertices that are expanded concurrently in a {@link ForkJoinPool};
+ * a frontier of a single chunk is expanded in the calling thread. A vertex is claimed by setting
+ * its bit in a shared visited bitmap with compare-and-set, so every vertex is discovered by
+ * exactly one thread. Each chunk writes its discoveries into a buffer of its own and records
+ * how many there are. At the end of the level the counts give every chunk its offset in the next
+ * frontier, and the buffers are copied there once.
+ * <p>
+ * The traversal path lists the vertices level by level, like the sequential BFS, but the
+ * order of vertices within a level depends on which thread claims them first.
+ */
+public class ParallelBfsTraversal extends BaseGraphTraversal {
+
+    // Number of frontier vertices in one chunk, which a single task expands
+    private static final int SEQUENTIAL_THRESHOLD = 256;
+
+    private final ForkJoinPool pool;
+
+    /**
+     * Constructs a traversal that runs in the common fork-join pool.
+     */
+    public ParallelBfsTraversal() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructs a traversal that runs in the specified fork-join pool.
+     */
+    public ParallelBfsTraversal(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    @Override
+    public void traverse(ExplorableGraph graph, Vertex startVertex) {
+        int startIndex = graph.indexOf(startVertex);
+        if (startIndex == -1) {
+            throw new IllegalArgumentException("Start vertex does not exist in the graph");
+        }
+        int vertexCount = graph.getVertexCount();
+        AtomicLongArray visitedBits = new AtomicLongArray((vertexCount + 63) >>> 6);
+        claim(visitedBits, startIndex);
+        visit(startVertex);
+
+        // Every vertex is in at most one frontier, so two arrays of the vertex count are enough
+        int[] frontier = new int[vertexCount];
+        int[] next = new int[vertexCount];
+        int frontierSize = 1;
+        frontier[0] = startIndex;
+        Chunks chunks = new Chunks();
+        while (frontierSize > 0) {
+            int chunkCount = (frontierSize + SEQUENTIAL_THRESHOLD - 1) / SEQUENTIAL_THRESHOLD;
+            chunks.ensureCapacity(chunkCount);
+            ExpandTask task = new ExpandTask(graph, visitedBits, frontier, frontierSize, chunks, 0, chunkCount);
+            if (chunkCount == 1) {
+                task.compute();
+            } else {
+                pool.invoke(task);
+            }
+
+            // Concatenate the chunk buffers once, each at the offset given by the counts before it
+            int nextSize = 0;
+            for (int c = 0; c < chunkCount; c++) {
+                System.arraycopy(chunks.buffers[c], 0, next, nextSize, chunks.counts[c]);
+                nextSize += chunks.counts[c];
+            }
+            for (int i = 0; i < nextSize; i++) {
+                visit(graph.vertexAt(next[i]));
+            }
+            int[] swap = frontier;
+            frontier = next;
+            next = swap;
+            frontierSize = nextSize;
+        }
+    }
+
+    /**
+     * Atomically sets the bit of the vertex in the bitmap.
+     *
+     * @return true if this call set the bit, false if it was already set
+     */
+    private static boolean claim(AtomicLongArray bits, int index) {
+        int word = index >>> 6;
+        long mask = 1L << index;
+        while (true) {
+            long current = bits.get(word);
+            if ((current & mask) != 0) {
+                return false;
+            }
+            if (bits.compareAndSet(word, current, current | mask)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Expands a range of chunks of the frontier, splitting it in halves until a single chunk is left.
+     */
+    private static class ExpandTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final ExplorableGraph graph;
+        private final AtomicLongArray visitedBits;
+        private final int[] frontier;
+        private final int frontierSize;
+        private final Chunks chunks;
+        private final int fromChunk;
+        private final int toChunk;
+
+        ExpandTask(ExplorableGraph graph, AtomicLongArray visitedBits, int[] frontier, int frontierSize,
+                   Chunks chunks, int fromChunk, int toChunk) {
+            this.graph = graph;
+            this.visitedBits = visitedBits;
+            this.frontier = frontier;
+            this.frontierSize = frontierSize;
+            this.chunks = chunks;
+            this.fromChunk = fromChunk;
+            this.toChunk = toChunk;
+        }
+
+        @Override
+        protected void compute() {
+            if (toChunk - fromChunk > 1) {
+                int middle = (fromChunk + toChunk) >>> 1;
+                invokeAll(new ExpandTask(graph, visitedBits, frontier, frontierSize, chunks, fromChunk, middle),
+                        new ExpandTask(graph, visitedBits, frontier, frontierSize, chunks, middle, toChunk));
+                return;
+            }
+            int from = fromChunk * SEQUENTIAL_THRESHOLD;
+            int to = Math.min(from + SEQUENTIAL_THRESHOLD, frontierSize);
+            int[] buffer = chunks.buffers[fromChunk];
+            int count = 0;
+            NeighborCursor neighbors = graph.neighborCursor();
+            for (int i = from; i < to; i++) {
+                neighbors.moveTo(frontier[i]);
+                while (neighbors.next()) {
+                    int neighbor = neighbors.neighbor();
+                    if (claim(visitedBits, neighbor)) {
+                        if (count == buffer.length) {
+                            buffer = Arrays.copyOf(buffer, count * 2);
+                        }
+                        buffer[count++] = neighbor;
+                    }
+                }
+            }
+            // A grown buffer is kept for the same chunk of the next levels
+            chunks.buffers[fromChunk] = buffer;
+            chunks.counts[fromChunk] = count;
+        }
+    }
+
+    /**
+     * The discovery buffers and counts of the chunks, one slot per chunk, reused from level to level.
+     */
+    private static class Chunks {
+        int[][] buffers = new int[0][];
+        int[] counts = new int[0];
+
+        void ensureCapacity(int chunkCount) {
+            if (chunkCount <= buffers.length) {
+                return;
+            }
+            int oldLength = buffers.length;
+            buffers = Arrays.copyOf(buffers, chunkCount);
+            counts = Arrays.copyOf(counts, chunkCount);
+            for (int c = oldLength; c < chunkCount; c++) {
+                buffers[c] = new int[SEQUENTIAL_THRESHOLD];
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "Parallel BFS";
+    }
+}
@@ -0,0 +1,237 @@
+package graph.traversal.algorithms;
+
+import graph.Vertex;
+import graph.traversal.graph.ExplorableGraph;
+import graph.traversal.graph.NeighborCursor;
+
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Provides traversals that hand each vertex to the caller as soon as it is reached,
+ * instead of collecting the whole traversal path first.
+ * <p>
+ * Two styles are offered: push-style traversals that report events to a
+ * {@link TraversalVisitor} and stop as soon as the visitor asks them to, and pull-style
+ * iterators that only advance the traversal when the caller asks for the next vertex.
+ * In both cases the only per-vertex state kept is one visited bit per vertex and the
+ * queue or stack of the traversal itself; no list of visited vertices is built.
+ */
+public class StreamingTraversal {
+
+    private StreamingTraversal() {
+        // Prevents instantiation
+    }
+
+    /**
+     * Performs a breadth-first traversal from the start vertex, reporting events to the visitor.
+     *
+     * @return true if the traversal completed, false if the visitor stopped it
+     * @throws IllegalArgumentException if the start vertex is not in the graph
+     */
+    public static boolean breadthFirst(ExplorableGraph graph, Vertex startVertex, TraversalVisitor visitor) {
+        int start = checkStart(graph, startVertex);
+        BitSet visited = new BitSet(graph.getVertexCount());
+        // Every vertex enters the queue once, so a plain array is enough
+        int[] queue = new int[graph.getVertexCount()];
+        int head = 0;
+        int tail = 0;
+        NeighborCursor neighbors = graph.neighborCursor();
+
+        visited.set(start);
+        if (!visitor.onDiscover(startVertex)) {
+            return false;
+        }
+        queue[tail++] = start;
+        while (head < tail) {
+            int current = queue[head++];
+            Vertex currentVertex = graph.vertexAt(current);
+            neighbors.moveTo(current);
+            while (neighbors.next()) {
+                int neighbor = neighbors.neighbor();
+                Vertex neighborVertex = graph.vertexAt(neighbor);
+                if (!visitor.onEdge(currentVertex, neighborVertex)) {
+                    return false;
+                }
+                if (!visited.get(neighbor)) {
+                    visited.set(neighbor);
+                    if (!visitor.onDiscover(neighborVertex)) {
+                        return false;
+                    }
+                    queue[tail++] = neighbor;
+                }
+            }
+            if (!visitor.onFinish(currentVertex)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Performs a depth-first traversal from the start vertex, reporting events to the visitor.
+     * The traversal uses an explicit stack, so it does not overflow on long paths.
+     *
+     * @return true if the traversal completed, false if the visitor stopped it
+     * @throws IllegalArgumentException if the start vertex is not in the graph
+     */
+    public static boolean depthFirst(ExplorableGraph graph, Vertex startVertex, TraversalVisitor visitor) {
+        int start = checkStart(graph, startVertex);
+        DepthFirstStack stack = new DepthFirstStack(graph);
+        BitSet visited = new BitSet(graph.getVertexCount());
+
+        visited.set(start);
+        if (!visitor.onDiscover(startVertex)) {
+            return false;
+        }
+        stack.push(start);
+        while (!stack.isEmpty()) {
+            int current = stack.peek();
+            int neighbor = stack.nextNeighbor();
+            if (neighbor == DepthFirstStack.NONE) {
+                stack.pop();
+                if (!visitor.onFinish(graph.vertexAt(current))) {
+                    return false;
+                }
+                continue;
+            }
+            Vertex neighborVertex = graph.vertexAt(neighbor);
+            if (!visitor.onEdge(graph.vertexAt(current), neighborVertex)) {
+                return false;
+            }
+            if (!visited.get(neighbor)) {
+                visited.set(neighbor);
+                if (!visitor.onDiscover(neighborVertex)) {
+                    return false;
+                }
+                stack.push(neighbor);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns an iterator over the vertices reachable from the start vertex in breadth-first order.
+     * Each call to {@code next()} does only the work needed to find one more vertex.
+     *
+     * @throws IllegalArgumentException if the start vertex is not in the graph
+     */
+    public static Iterator<Vertex> breadthFirstIterator(ExplorableGraph graph, Vertex startVertex) {
+        return new BreadthFirstIterator(graph, checkStart(graph, startVertex));
+    }
+
+    /**
+     * Returns an iterator over the vertices reachable from the start vertex in depth-first (pre-)order.
+     * Each call to {@code next()} does only the work needed to find one more vertex.
+     *
+     * @throws IllegalArgumentException if the start vertex is not in the graph
+     */
+    public static Iterator<Vertex> depthFirstIterator(ExplorableGraph graph, Vertex startVertex) {
+        return new DepthFirstIterator(graph, checkStart(graph, startVertex));
+    }
+
+    private static int checkStart(ExplorableGraph graph, Vertex startVertex) {
+        int start = graph.indexOf(startVertex);
+        if (start == -1) {
+            throw new IllegalArgumentException("Start vertex does not exist in the graph");
+        }
+        return start;
+    }
+
+    /**
+     * Yields the vertices in breadth-first order. A vertex's neighbors are only
+     * enqueued when the vertex itself is returned.
+     */
+    private static class BreadthFirstIterator implements Iterator<Vertex> {
+        private final ExplorableGraph graph;
+        private final BitSet visited;
+        private final int[] queue;
+        private final NeighborCursor neighbors;
+        private int head;
+        private int tail;
+
+        BreadthFirstIterator(ExplorableGraph graph, int start) {
+            this.graph = graph;
+            neighbors = graph.neighborCursor();
+            visited = new BitSet(graph.getVertexCount());
+            queue = new int[graph.getVertexCount()];
+            visited.set(start);
+            queue[tail++] = start;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return head < tail;
+        }
+
+        @Override
+        public Vertex next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            int current = queue[head++];
+            neighbors.moveTo(current);
+            while (neighbors.next()) {
+                int neighbor = neighbors.neighbor();
+                if (!visited.get(neighbor)) {
+                    visited.set(neighbor);
+                    queue[tail++] = neighbor;
+                }
+            }
+            return graph.vertexAt(current);
+        }
+    }
+
+    /**
+     * Yields the vertices in depth-first order. The next vertex is looked up
+     * in advance, so that {@code hasNext()} can answer without side effects.
+     */
+    private static class DepthFirstIterator implements Iterator<Vertex> {
+        private final DepthFirstStack stack;
+        private final BitSet visited;
+        private final ExplorableGraph graph;
+        // The vertex to be returned by the next call to next(), or -1 if the traversal is over
+        private int nextVertex;
+
+        DepthFirstIterator(ExplorableGraph graph, int start) {
+            this.graph = graph;
+            stack = new DepthFirstStack(graph);
+            visited = new BitSet(graph.getVertexCount());
+            visited.set(start);
+            nextVertex = start;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return nextVertex != -1;
+        }
+
+        @Override
+        public Vertex next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            int current = nextVertex;
+            stack.push(current);
+            nextVertex = advance();
+            return graph.vertexAt(current);
+        }
+
+        // Moves the cursors forward until an unvisited vertex is found
+        private int advance() {
+            while (!stack.isEmpty()) {
+                int neighbor = stack.nextNeighbor();
+                if (neighbor == DepthFirstStack.NONE) {
+                    stack.pop();
+                    continue;
+                }
+                if (!visited.get(neighbor)) {
+                    visited.set(neighbor);
+                    return neighbor;
+                }
+            }
+            return -1;
+        }
+    }
+}
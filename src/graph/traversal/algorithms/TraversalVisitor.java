@@ -0,0 +1,33 @@
+package graph.traversal.algorithms;
+
+import graph.Vertex;
+
+/**
+ * Receives the events of a traversal performed by {@link StreamingTraversal} as they happen.
+ * <p>
+ * Every method returns whether the traversal should continue. Returning false stops
+ * the traversal immediately, for example as soon as a target vertex has been found.
+ */
+public interface TraversalVisitor {
+
+    /**
+     * Called when a vertex is reached for the first time.
+     *
+     * @return true to continue the traversal, false to stop it
+     */
+    boolean onDiscover(Vertex vertex);
+
+    /**
+     * Called for every edge examined by the traversal, whether or not it leads to a new vertex.
+     *
+     * @return true to continue the traversal, false to stop it
+     */
+    boolean onEdge(Vertex source, Vertex destination);
+
+    /**
+     * Called when all edges of a vertex have been examined.
+     *
+     * @return true to continue the traversal, false to stop it
+     */
+    boolean onFinish(Vertex vertex);
+}
@@ -0,0 +1,158 @@
+package graph.traversal.graph;
+
+import graph.Vertex;
+import graph.VertexIndex;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Represents an undirected and unweighted graph using a bit-packed adjacency matrix.
+ * <p>
+ * Each row of the matrix is stored as a sequence of 64-bit words, one bit per possible
+ * edge, which takes 32 times less memory than an int matrix holding 0/1 values. Neighbors
+ * are enumerated a word at a time: empty words are skipped in a single comparison, and the
+ * set bits of a non-empty word are found with {@link Long#numberOfTrailingZeros(long)}.
+ */
+public class ExplorableBitMatrixGraph implements ExplorableGraph {
+
+    // Maps each vertex to its corresponding index in the adjacency matrix and back.
+    private final VertexIndex vertexIndex;
+    // All rows stored one after another; row 'i' starts at i * wordsPerRow.
+    private final long[] adjacencyBits;
+    private final int wordsPerRow;
+    private final int maxVertices;
+
+    /**
+     * Constructs a graph with a specified maximum number of vertices.
+     *
+     * @throws IllegalArgumentException if the matrix would not fit into a single array
+     */
+    public ExplorableBitMatrixGraph(int maxVertexCount) {
+        wordsPerRow = (maxVertexCount + 63) >>> 6;
+        if ((long) maxVertexCount * wordsPerRow > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Too many vertices for a bit matrix: " + maxVertexCount);
+        }
+        vertexIndex = new VertexIndex();
+        adjacencyBits = new long[maxVertexCount * wordsPerRow];
+        maxVertices = maxVertexCount;
+    }
+
+    @Override
+    public void addVertex(Vertex vertex) {
+        if (vertex == null) {
+            throw new IllegalArgumentException("Vertex cannot be null.");
+        }
+        if (vertexIndex.contains(vertex)) {
+            return;
+        }
+        if (vertexIndex.size() >= maxVertices) {
+            throw new IllegalStateException("Maximum vertices limit reached.");
+        }
+        vertexIndex.add(vertex);
+    }
+
+    @Override
+    public void setEdge(Vertex source, Vertex destination) {
+        if (source == null || destination == null) {
+            throw new IllegalArgumentException("Source or destination vertex cannot be null.");
+        }
+        if (source == destination) {
+            throw new IllegalArgumentException("Cannot add an edge from a vertex to itself.");
+        }
+        int sourceIndex = vertexIndex.indexOf(source);
+        if (sourceIndex == -1) {
+            throw new IllegalArgumentException("Source vertex does not exist in the graph.");
+        }
+        int destinationIndex = vertexIndex.indexOf(destination);
+        if (destinationIndex == -1) {
+            throw new IllegalArgumentException("Destination vertex does not exist in the graph.");
+        }
+
+        setBit(sourceIndex, destinationIndex);
+        setBit(destinationIndex, sourceIndex);
+    }
+
+    @Override
+    public List<Vertex> getNeighbors(Vertex vertex) {
+        int index = vertexIndex.indexOf(vertex);
+        if (index == -1) {
+            throw new IllegalArgumentException("Vertex does not exist in the graph");
+        }
+        List<Vertex> neighbors = new ArrayList<>();
+
+        int rowStart = index * wordsPerRow;
+        for (int w = 0; w < wordsPerRow; w++) {
+            long word = adjacencyBits[rowStart + w];
+            while (word != 0) {
+                int bit = Long.numberOfTrailingZeros(word);
+                neighbors.add(vertexIndex.vertexAt((w << 6) + bit));
+                word &= word - 1; // Clear the lowest set bit
+            }
+        }
+        return neighbors;
+    }
+
+    @Override
+    public int getVertexCount() {
+        return vertexIndex.size();
+    }
+
+    @Override
+    public int indexOf(Vertex vertex) {
+        return vertexIndex.indexOf(vertex);
+    }
+
+    @Override
+    public Vertex vertexAt(int index) {
+        return vertexIndex.vertexAt(index);
+    }
+
+    @Override
+    public NeighborCursor neighborCursor() {
+        return new BitNeighborCursor();
+    }
+
+    private void setBit(int row, int column) {
+        adjacencyBits[row * wordsPerRow + (column >>> 6)] |= 1L << column; // The shift only uses the low 6 bits
+    }
+
+    /**
+     * Walks through the set bits of one row, a word at a time.
+     */
+    private class BitNeighborCursor implements NeighborCursor {
+        private int rowStart;
+        private int wordIndex;
+        // The bits of the current word not visited yet
+        private long word;
+        private int neighbor;
+
+        @Override
+        public void moveTo(int vertex) {
+            if (vertex < 0 || vertex >= vertexIndex.size()) {
+                throw new IllegalArgumentException("Index out of bounds");
+            }
+            rowStart = vertex * wordsPerRow;
+            wordIndex = 0;
+            word = wordsPerRow == 0 ? 0 : adjacencyBits[rowStart];
+        }
+
+        @Override
+        public boolean next() {
+            while (word == 0) {
+                if (++wordIndex >= wordsPerRow) {
+                    return false;
+                }
+                word = adjacencyBits[rowStart + wordIndex];
+            }
+            neighbor = (wordIndex << 6) + Long.numberOfTrailingZeros(word);
+            word &= word - 1; // Clear the lowest set bit
+            return true;
+        }
+
+        @Override
+        public int neighbor() {
+            return neighbor;
+        }
+    }
+}
@@ -15,4 +15,27 @@ public interface ExplorableGraph extends UnweightedGraph {
      * those vertices that are directly connected by an edge from the specified vertex.
      */
     List<Vertex> getNeighbors(Vertex vertex);
+
+    /**
+     * Retrieves the number of vertices in the graph. The vertices are numbered
+     * with dense indices from 0 to the vertex count - 1 in the order they were added.
+     */
+    int getVertexCount();
+
+    /**
+     * Retrieves the index of the specified vertex, or -1 if the vertex is not in the graph.
+     */
+    int indexOf(Vertex vertex);
+
+    /**
+     * Retrieves the vertex with the specified index.
+     */
+    Vertex vertexAt(int index);
+
+    /**
+     * Creates a cursor over the neighbor indices of any vertex, in the same order as
+     * {@link #getNeighbors(Vertex)} returns them. Unlike {@link #getNeighbors(Vertex)},
+     * the cursor allocates nothing while it is used.
+     */
+    NeighborCursor neighborCursor();
 }
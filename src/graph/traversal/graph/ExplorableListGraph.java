@@ -1,25 +1,40 @@
 package graph.traversal.graph;
 
 import graph.Vertex;
+import graph.VertexIndex;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 /**
  * Represents an undirected and unweighted graph using an adjacency list representation.
+ * <p>
+ * Next to the lists of vertices, the indices of the neighbors of every vertex are kept in an
+ * int array that grows as edges are added, so a {@link NeighborCursor} reads them directly.
  */
 public class ExplorableListGraph implements ExplorableGraph {
 
+    private static final int INITIAL_CAPACITY = 4;
+
     /**
      * The adjacency list representation of the graph, where each key (a {@link Vertex})
      * represents a vertex in the graph, and the value is a list of vertices adjacent to it.
      */
     private final Map<Vertex, List<Vertex>> adjacencyList;
+    // Assigns each vertex a dense index in the order the vertices are added.
+    private final VertexIndex vertexIndex;
+    // neighborIndices[v][i] for i < degrees[v] are the indices of the neighbors of vertex v
+    private int[][] neighborIndices;
+    private int[] degrees;
 
     public ExplorableListGraph() {
         adjacencyList = new HashMap<>();
+        vertexIndex = new VertexIndex();
+        neighborIndices = new int[INITIAL_CAPACITY][];
+        degrees = new int[INITIAL_CAPACITY];
     }
 
     @Override
@@ -27,7 +42,16 @@ public class ExplorableListGraph implements ExplorableGraph {
         if (vertex == null) {
             throw new IllegalArgumentException("Vertex cannot be null.");
         }
-        adjacencyList.putIfAbsent(vertex, new ArrayList<>()); // Initialize adjacency list for given vertex
+        if (adjacencyList.containsKey(vertex)) {
+            return;
+        }
+        adjacencyList.put(vertex, new ArrayList<>()); // Initialize adjacency list for given vertex
+        int index = vertexIndex.add(vertex);
+        if (index == degrees.length) {
+            neighborIndices = Arrays.copyOf(neighborIndices, index * 2);
+            degrees = Arrays.copyOf(degrees, index * 2);
+        }
+        neighborIndices[index] = new int[INITIAL_CAPACITY];
     }
 
     @Override
@@ -50,10 +74,72 @@ public class ExplorableListGraph implements ExplorableGraph {
         // Add the edge in both directions since the graph is undirected
         sourceNeighbors.add(destination);
         destinationNeighbors.add(source);
+        int sourceIndex = vertexIndex.indexOf(source);
+        int destinationIndex = vertexIndex.indexOf(destination);
+        appendNeighbor(sourceIndex, destinationIndex);
+        appendNeighbor(destinationIndex, sourceIndex);
+    }
+
+    private void appendNeighbor(int vertex, int neighbor) {
+        int degree = degrees[vertex];
+        if (degree == neighborIndices[vertex].length) {
+            neighborIndices[vertex] = Arrays.copyOf(neighborIndices[vertex], degree * 2);
+        }
+        neighborIndices[vertex][degree] = neighbor;
+        degrees[vertex] = degree + 1;
     }
 
     @Override
     public List<Vertex> getNeighbors(Vertex vertex) {
         return adjacencyList.get(vertex);
     }
+
+    @Override
+    public int getVertexCount() {
+        return vertexIndex.size();
+    }
+
+    @Override
+    public int indexOf(Vertex vertex) {
+        return vertexIndex.indexOf(vertex);
+    }
+
+    @Override
+    public Vertex vertexAt(int index) {
+        return vertexIndex.vertexAt(index);
+    }
+
+    @Override
+    public NeighborCursor neighborCursor() {
+        return new ListNeighborCursor();
+    }
+
+    /**
+     * Walks through the neighbor indices of one vertex.
+     */
+    private class ListNeighborCursor implements NeighborCursor {
+        private int[] neighbors;
+        private int position;
+        private int degree;
+
+        @Override
+        public void moveTo(int vertex) {
+            if (vertex < 0 || vertex >= vertexIndex.size()) {
+                throw new IllegalArgumentException("Index out of bounds");
+            }
+            neighbors = neighborIndices[vertex];
+            position = -1;
+            degree = degrees[vertex];
+        }
+
+        @Override
+        public boolean next() {
+            return ++position < degree;
+        }
+
+        @Override
+        public int neighbor() {
+            return neighbors[position];
+        }
+    }
 }
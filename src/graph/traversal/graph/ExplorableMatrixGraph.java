@@ -1,33 +1,29 @@
 package graph.traversal.graph;
 
 import graph.Vertex;
-import graph.VertexUtil;
+import graph.VertexIndex;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 /**
  * Represents an undirected and unweighted graph using an adjacency matrix for storing edges.
  */
 public class ExplorableMatrixGraph implements ExplorableGraph {
 
-    // Maps each vertex to its corresponding index in the adjacency matrix.
-    private final Map<Vertex, Integer> indicesMap;
+    // Maps each vertex to its corresponding index in the adjacency matrix and back.
+    private final VertexIndex vertexIndex;
     // Represents the edges between vertices.
     private final int[][] adjacencyMatrix;
     private final int maxVertices;
-    private int currentVertexCount;
 
     /**
      * Constructs a graph with a specified maximum number of vertices.
      */
     public ExplorableMatrixGraph(int maxVertexCount) {
-        indicesMap = new HashMap<>();
+        vertexIndex = new VertexIndex();
         adjacencyMatrix = new int[maxVertexCount][maxVertexCount];
         maxVertices = maxVertexCount;
-        currentVertexCount = 0;
     }
 
     @Override
@@ -35,10 +31,13 @@ public class ExplorableMatrixGraph implements ExplorableGraph {
         if (vertex == null) {
             throw new IllegalArgumentException("Vertex cannot be null.");
         }
-        if (currentVertexCount >= maxVertices) {
+        if (vertexIndex.contains(vertex)) {
+            return;
+        }
+        if (vertexIndex.size() >= maxVertices) {
             throw new IllegalStateException("Maximum vertices limit reached.");
         }
-        indicesMap.putIfAbsent(vertex, currentVertexCount++);
+        vertexIndex.add(vertex);
     }
 
     @Override
@@ -49,34 +48,84 @@ public class ExplorableMatrixGraph implements ExplorableGraph {
         if (source == destination) {
             throw new IllegalArgumentException("Cannot add an edge from a vertex to itself.");
         }
-        if (!indicesMap.containsKey(source)) {
+        int sourceIndex = vertexIndex.indexOf(source);
+        if (sourceIndex == -1) {
             throw new IllegalArgumentException("Source vertex does not exist in the graph.");
         }
-        if (!indicesMap.containsKey(destination)) {
+        int destinationIndex = vertexIndex.indexOf(destination);
+        if (destinationIndex == -1) {
             throw new IllegalArgumentException("Destination vertex does not exist in the graph.");
         }
 
-        int sourceIndex = indicesMap.get(source);
-        int destinationIndex = indicesMap.get(destination);
-
         adjacencyMatrix[sourceIndex][destinationIndex] = 1;
         adjacencyMatrix[destinationIndex][sourceIndex] = 1;
     }
 
     @Override
     public List<Vertex> getNeighbors(Vertex vertex) {
-        Integer index = indicesMap.get(vertex);
-        if (index == null) {
+        int index = vertexIndex.indexOf(vertex);
+        if (index == -1) {
             throw new IllegalArgumentException("Vertex does not exist in the graph");
         }
         List<Vertex> neighbors = new ArrayList<>();
 
-        for (int i = 0; i < adjacencyMatrix[index].length; i++) {
-            if (adjacencyMatrix[index][i] == 1) { // Check if there's an edge
-                Vertex neighbor = VertexUtil.getVertexByIndex(indicesMap, i);
-                neighbors.add(neighbor);
+        int[] row = adjacencyMatrix[index];
+        for (int i = 0; i < vertexIndex.size(); i++) {
+            if (row[i] == 1) { // Check if there's an edge
+                neighbors.add(vertexIndex.vertexAt(i));
             }
         }
         return neighbors;
     }
+
+    @Override
+    public int getVertexCount() {
+        return vertexIndex.size();
+    }
+
+    @Override
+    public int indexOf(Vertex vertex) {
+        return vertexIndex.indexOf(vertex);
+    }
+
+    @Override
+    public Vertex vertexAt(int index) {
+        return vertexIndex.vertexAt(index);
+    }
+
+    @Override
+    public NeighborCursor neighborCursor() {
+        return new MatrixNeighborCursor();
+    }
+
+    /**
+     * Walks through one row of the matrix, skipping the columns without an edge.
+     */
+    private class MatrixNeighborCursor implements NeighborCursor {
+        private int[] row;
+        private int column;
+
+        @Override
+        public void moveTo(int vertex) {
+            if (vertex < 0 || vertex >= vertexIndex.size()) {
+                throw new IllegalArgumentException("Index out of bounds");
+            }
+            row = adjacencyMatrix[vertex];
+            column = -1;
+        }
+
+        @Override
+        public boolean next() {
+            int size = vertexIndex.size();
+            do {
+                column++;
+            } while (column < size && row[column] == 0);
+            return column < size;
+        }
+
+        @Override
+        public int neighbor() {
+            return column;
+        }
+    }
 }
@@ -0,0 +1,38 @@
+package graph.traversal.graph;
+
+/**
+ * Iterates over the neighbors of a vertex of an {@link ExplorableGraph} by their indices,
+ * without allocating anything.
+ * <p>
+ * Vertices are identified by their index, see {@link ExplorableGraph#indexOf(graph.Vertex)}.
+ * A cursor is reusable: {@link #moveTo(int)} positions it before the first neighbor of any vertex,
+ * and {@link #next()} advances it to the following one. A typical loop is:
+ * <pre>
+ * cursor.moveTo(vertex);
+ * while (cursor.next()) {
+ *     visit(cursor.neighbor());
+ * }
+ * </pre>
+ * The graph must not be changed while a cursor is used.
+ */
+public interface NeighborCursor {
+
+    /**
+     * Positions the cursor before the first neighbor of the vertex with the specified index.
+     *
+     * @throws IllegalArgumentException if the index does not belong to a vertex of the graph
+     */
+    void moveTo(int vertex);
+
+    /**
+     * Advances to the next neighbor.
+     *
+     * @return true if there is such a neighbor, false if all neighbors of the vertex were visited
+     */
+    boolean next();
+
+    /**
+     * Returns the index of the current neighbor.
+     */
+    int neighbor();
+}
@@ -2,6 +2,7 @@ package graph.traversal.main;
 
 import graph.GraphRepresentation;
 import graph.Vertex;
+import graph.traversal.graph.ExplorableBitMatrixGraph;
 import graph.traversal.graph.ExplorableGraph;
 import graph.traversal.graph.ExplorableListGraph;
 import graph.traversal.graph.ExplorableMatrixGraph;
@@ -20,6 +21,9 @@ class GraphFactory {
             case MATRIX:
                 graph = new ExplorableMatrixGraph(vertices.length);
                 break;
+            case BIT_MATRIX:
+                graph = new ExplorableBitMatrixGraph(vertices.length);
+                break;
             case LIST:
                 graph = new ExplorableListGraph();
                 break;
@@ -4,6 +4,7 @@ import graph.traversal.algorithms.BfsTraversal;
 import graph.traversal.algorithms.DfsRecursiveTraversal;
 import graph.traversal.algorithms.DfsTraversal;
 import graph.traversal.algorithms.GraphTraversal;
+import graph.traversal.algorithms.ParallelBfsTraversal;
 
 /**
  * Factory for creating instances of {@link GraphTraversal} based on the specified traversal method.
@@ -22,6 +23,8 @@ class GraphTraversalFactory {
                 return new DfsRecursiveTraversal();
             case BFS:
                 return new BfsTraversal();
+            case PARALLEL_BFS:
+                return new ParallelBfsTraversal();
             default:
                 throw new IllegalArgumentException("Unknown traversal method: " + method);
         }
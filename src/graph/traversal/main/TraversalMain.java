@@ -3,9 +3,16 @@ package graph.traversal.main;
 import graph.GraphRepresentation;
 import graph.Vertex;
 import graph.VertexImpl;
+import graph.traversal.algorithms.DfsEngine;
+import graph.traversal.algorithms.DfsResult;
+import graph.traversal.algorithms.DfsVisitor;
+import graph.traversal.algorithms.EdgeType;
 import graph.traversal.algorithms.GraphTraversal;
+import graph.traversal.algorithms.StreamingTraversal;
 import graph.traversal.graph.ExplorableGraph;
 
+import java.util.Iterator;
+
 public class TraversalMain {
 
     /**
@@ -42,6 +49,42 @@ public class TraversalMain {
         traversal = GraphTraversalFactory.createTraversal(TraversalMethod.BFS);
         traversal.traverse(graph, a);
         System.out.println(traversal + ": " + traversal.getTraversalPath());
+
+        // Create a parallel Breadth-First Search traversal instance
+        traversal = GraphTraversalFactory.createTraversal(TraversalMethod.PARALLEL_BFS);
+        traversal.traverse(graph, a);
+        System.out.println(traversal + ": " + traversal.getTraversalPath());
         // Note: There's no resetState call here as traversal is not reused afterward
+
+        // Run an iterative DFS that reports pre-order, post-order and edge types
+        DfsEngine engine = new DfsEngine(graph, new DfsVisitor() {
+            @Override
+            public void onDiscover(Vertex vertex) {
+                System.out.println("Discovered " + vertex);
+            }
+
+            @Override
+            public void onEdge(Vertex source, Vertex destination, EdgeType type) {
+                System.out.println("  Edge " + source + destination + ": " + type);
+            }
+
+            @Override
+            public void onFinish(Vertex vertex) {
+                System.out.println("Finished " + vertex);
+            }
+        });
+        DfsResult result = engine.run(a);
+        System.out.println("Finish time of A: " + result.getFinishTime(graph.indexOf(a)));
+
+        // Walk the graph lazily and stop as soon as the target vertex is reached
+        Iterator<Vertex> iterator = StreamingTraversal.breadthFirstIterator(graph, a);
+        int visitedCount = 0;
+        while (iterator.hasNext()) {
+            visitedCount++;
+            if (iterator.next().equals(c)) {
+                break;
+            }
+        }
+        System.out.println("Lazy BFS reached C after visiting " + visitedCount + " vertices");
     }
 }
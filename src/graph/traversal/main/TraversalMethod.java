@@ -15,5 +15,9 @@ enum TraversalMethod {
     /**
      * Breadth-First Search traversal method.
      */
-    BFS
+    BFS,
+    /**
+     * Breadth-First Search traversal method that expands each level in parallel.
+     */
+    PARALLEL_BFS
 }
@@ -0,0 +1,107 @@
+package unionfind;
+
+import java.util.Arrays;
+
+/**
+ * Holds the members of every set of a union-find structure in a compressed layout.
+ * <p>
+ * Components are numbered 0 to {@code getComponentCount() - 1}. The members of component
+ * {@code c} are stored contiguously in one shared array between {@code offsets[c]} (inclusive)
+ * and {@code offsets[c + 1]} (exclusive), in increasing element order. This is the same layout
+ * as the compressed sparse row format used for sparse matrices.
+ */
+public class Components {
+
+    private final int[] offsets;
+    private final int[] members;
+    // The component index of every element
+    private final int[] componentOf;
+
+    Components(int[] offsets, int[] members, int[] componentOf) {
+        this.offsets = offsets;
+        this.members = members;
+        this.componentOf = componentOf;
+    }
+
+    /**
+     * Returns the number of components.
+     */
+    public int getComponentCount() {
+        return offsets.length - 1;
+    }
+
+    /**
+     * Returns the index of the component containing the specified element.
+     */
+    public int componentOf(int element) {
+        if (element < 0 || element >= componentOf.length) {
+            throw new IllegalArgumentException("Element out of bounds");
+        }
+        return componentOf[element];
+    }
+
+    /**
+     * Returns the number of elements in the specified component.
+     */
+    public int size(int component) {
+        checkComponent(component);
+        return offsets[component + 1] - offsets[component];
+    }
+
+    /**
+     * Returns a copy of the members of the specified component in increasing order.
+     */
+    public int[] getMembers(int component) {
+        checkComponent(component);
+        return Arrays.copyOfRange(members, offsets[component], offsets[component + 1]);
+    }
+
+    /**
+     * Returns the i-th member of the specified component without copying.
+     */
+    public int getMember(int component, int i) {
+        if (i < 0 || i >= size(component)) {
+            throw new IllegalArgumentException("Member index out of bounds");
+        }
+        return members[offsets[component] + i];
+    }
+
+    /**
+     * Returns the index of a component with the most elements,
+     * or -1 if there are no components.
+     */
+    public int getLargestComponent() {
+        int largest = -1;
+        int largestSize = 0;
+        for (int c = 0; c < getComponentCount(); c++) {
+            int size = offsets[c + 1] - offsets[c];
+            if (size > largestSize) {
+                largest = c;
+                largestSize = size;
+            }
+        }
+        return largest;
+    }
+
+    /**
+     * Returns the size histogram of the components: the value at index {@code s}
+     * is the number of components that have exactly {@code s} elements.
+     */
+    public int[] getSizeHistogram() {
+        int maxSize = 0;
+        for (int c = 0; c < getComponentCount(); c++) {
+            maxSize = Math.max(maxSize, offsets[c + 1] - offsets[c]);
+        }
+        int[] histogram = new int[maxSize + 1];
+        for (int c = 0; c < getComponentCount(); c++) {
+            histogram[offsets[c + 1] - offsets[c]]++;
+        }
+        return histogram;
+    }
+
+    private void checkComponent(int component) {
+        if (component < 0 || component >= getComponentCount()) {
+            throw new IllegalArgumentException("Component out of bounds");
+        }
+    }
+}
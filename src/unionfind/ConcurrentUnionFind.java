@@ -0,0 +1,201 @@
+package unionfind;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Implements a lock-free union-find data structure (disjoint-set) that can be
+ * used by many threads at the same time.
+ * <p>
+ * Parent links are stored in an {@link AtomicIntegerArray} and are only changed
+ * with compare-and-set, so no thread ever blocks another one. Instead of union
+ * by rank, roots are linked by randomized priority: every element receives a
+ * random priority at construction and the root with the lower priority is
+ * attached below the other one. This keeps the expected tree height logarithmic
+ * without having to update a rank atomically together with the parent link.
+ * The find operation uses path halving, which is also done with compare-and-set.
+ */
+public class ConcurrentUnionFind {
+
+    // Number of edges below which a fork-join task processes its range directly
+    private static final int SEQUENTIAL_THRESHOLD = 1 << 12;
+
+    private final AtomicIntegerArray parent;
+    // Random priorities used to decide which root is linked below the other one
+    private final int[] priority;
+
+    /**
+     * Initializes the structure with a specified number of elements.
+     * Each element is initially in its own set.
+     */
+    public ConcurrentUnionFind(int count) {
+        this(count, new Random());
+    }
+
+    /**
+     * Initializes the structure with a specified number of elements, using the given
+     * random generator to assign the linking priorities.
+     */
+    public ConcurrentUnionFind(int count, Random random) {
+        if (count < 0) {
+            throw new IllegalArgumentException("Element count cannot be negative");
+        }
+        parent = new AtomicIntegerArray(count);
+        priority = new int[count];
+        for (int i = 0; i < count; i++) {
+            parent.set(i, i);
+            priority[i] = random.nextInt();
+        }
+    }
+
+    /**
+     * Returns the number of elements in the structure.
+     */
+    public int size() {
+        return parent.length();
+    }
+
+    /**
+     * Finds the representative (root) of the set containing 'element'
+     * and applies path halving.
+     * <p>
+     * When other threads are performing unions at the same time, the returned root
+     * may already have been linked below another root by the time the caller uses it.
+     *
+     * @return the representative of the set containing 'element'
+     */
+    public int find(int element) {
+        checkBounds(element);
+        int current = element;
+        while (true) {
+            int p = parent.get(current);
+            if (p == current) {
+                return current;
+            }
+            int grandparent = parent.get(p);
+            if (p != grandparent) {
+                // Try to skip one level; losing the race is harmless
+                parent.compareAndSet(current, p, grandparent);
+            }
+            current = grandparent;
+        }
+    }
+
+    /**
+     * Merges the sets containing elements 'x' and 'y'.
+     *
+     * @param x an element of the first set
+     * @param y an element of the second set
+     * @return true if two different sets were merged, false if 'x' and 'y' were already in the same set
+     */
+    public boolean union(int x, int y) {
+        checkBounds(x);
+        checkBounds(y);
+        while (true) {
+            int xRoot = find(x);
+            int yRoot = find(y);
+            if (xRoot == yRoot) {
+                return false;
+            }
+            // Link the root with the lower priority below the other one.
+            // Ties are broken by index so that every pair of roots has a fixed order.
+            if (hasLowerPriority(xRoot, yRoot)) {
+                if (parent.compareAndSet(xRoot, xRoot, yRoot)) {
+                    return true;
+                }
+            } else {
+                if (parent.compareAndSet(yRoot, yRoot, xRoot)) {
+                    return true;
+                }
+            }
+            // Another thread changed one of the roots, retry with the new roots
+        }
+    }
+
+    /**
+     * Checks whether elements 'x' and 'y' are in the same set.
+     * The answer is exact for the moment it is returned, even under concurrent unions.
+     */
+    public boolean connected(int x, int y) {
+        checkBounds(x);
+        checkBounds(y);
+        while (true) {
+            int xRoot = find(x);
+            int yRoot = find(y);
+            if (xRoot == yRoot) {
+                return true;
+            }
+            // If 'xRoot' is still a root, the two sets were distinct when 'yRoot' was found
+            if (parent.get(xRoot) == xRoot) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Unites the endpoints of every edge in parallel using the common fork-join pool.
+     * The i-th edge connects 'sources[i]' and 'destinations[i]'.
+     */
+    public void unionAll(int[] sources, int[] destinations) {
+        unionAll(sources, destinations, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Unites the endpoints of every edge in parallel using the specified fork-join pool.
+     * The i-th edge connects 'sources[i]' and 'destinations[i]'.
+     *
+     * @throws IllegalArgumentException if the two arrays have different lengths
+     */
+    public void unionAll(int[] sources, int[] destinations, ForkJoinPool pool) {
+        if (sources.length != destinations.length) {
+            throw new IllegalArgumentException("Source and destination arrays must have the same length");
+        }
+        pool.invoke(new UnionTask(this, sources, destinations, 0, sources.length));
+    }
+
+    private boolean hasLowerPriority(int a, int b) {
+        return priority[a] < priority[b] || (priority[a] == priority[b] && a < b);
+    }
+
+    private void checkBounds(int element) {
+        if (element < 0 || element >= parent.length()) {
+            throw new IllegalArgumentException("Element out of bounds");
+        }
+    }
+
+    /**
+     * Splits the edge range in halves until it is small enough to be processed directly.
+     */
+    private static class UnionTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final ConcurrentUnionFind unionFind;
+        private final int[] sources;
+        private final int[] destinations;
+        private final int from;
+        private final int to;
+
+        UnionTask(ConcurrentUnionFind unionFind, int[] sources, int[] destinations, int from, int to) {
+            this.unionFind = unionFind;
+            this.sources = sources;
+            this.destinations = destinations;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= SEQUENTIAL_THRESHOLD) {
+                for (int i = from; i < to; i++) {
+                    unionFind.union(sources[i], destinations[i]);
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new UnionTask(unionFind, sources, destinations, from, middle),
+                    new UnionTask(unionFind, sources, destinations, middle, to));
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package unionfind;
+
+import java.util.Arrays;
+
+/**
+ * Implements a union-find data structure whose elements are arbitrary keys that can be
+ * added at any time, for example while consuming a stream of "x is the same as y" records.
+ * <p>
+ * Each key receives a dense integer id the first time it is seen. Parents and ranks are
+ * stored in primitive int arrays that are split into fixed-size chunks: growing the structure
+ * only allocates a new chunk, so existing entries are never copied. The find operation uses
+ * path compression and union is done by rank.
+ *
+ * @param <K> the type of the keys
+ */
+public class GrowableUnionFind<K> {
+
+    // Each chunk holds 2^CHUNK_SHIFT entries
+    private static final int CHUNK_SHIFT = 12;
+    private static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+    private final KeyIndex<K> keyIndex;
+    private int[][] parentChunks;
+    private int[][] rankChunks;
+    private int chunkCount;
+    private int setCount;
+
+    /**
+     * Constructs an empty structure.
+     */
+    public GrowableUnionFind() {
+        keyIndex = new KeyIndex<>();
+        parentChunks = new int[4][];
+        rankChunks = new int[4][];
+    }
+
+    /**
+     * Registers the key as a new single-element set if it has not been seen before.
+     *
+     * @return the id assigned to the key
+     * @throws IllegalArgumentException if the key is null
+     */
+    public int add(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("Key cannot be null.");
+        }
+        int previousSize = keyIndex.size();
+        int id = keyIndex.register(key);
+        if (id == previousSize) {
+            // The key is new: make it the root of its own set
+            if (id == chunkCount << CHUNK_SHIFT) {
+                addChunk();
+            }
+            parentChunks[id >>> CHUNK_SHIFT][id & CHUNK_MASK] = id;
+            setCount++;
+        }
+        return id;
+    }
+
+    /**
+     * Returns the id of the specified key, or -1 if the key has not been added.
+     */
+    public int idOf(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("Key cannot be null.");
+        }
+        return keyIndex.idOf(key);
+    }
+
+    /**
+     * Returns the key that was assigned the specified id.
+     */
+    public K keyOf(int id) {
+        return keyIndex.keyOf(id);
+    }
+
+    /**
+     * Returns the number of elements added so far.
+     */
+    public int size() {
+        return keyIndex.size();
+    }
+
+    /**
+     * Returns the number of disjoint sets.
+     */
+    public int getSetCount() {
+        return setCount;
+    }
+
+    /**
+     * Finds the representative of the set containing the key, adding the key first if it is new.
+     *
+     * @return the representative key
+     */
+    public K find(K key) {
+        return keyOf(find(add(key)));
+    }
+
+    /**
+     * Finds the id of the representative of the set containing the element with the given id
+     * and applies path compression.
+     *
+     * @throws IllegalArgumentException if the id has not been assigned
+     */
+    public int find(int id) {
+        if (id < 0 || id >= keyIndex.size()) {
+            throw new IllegalArgumentException("Id out of bounds");
+        }
+        // First pass: locate the root without recursion, since chains may be long
+        int root = id;
+        int parent;
+        while ((parent = getParent(root)) != root) {
+            root = parent;
+        }
+        // Second pass: point every element on the path directly at the root
+        int current = id;
+        while (current != root) {
+            int next = getParent(current);
+            setParent(current, root);
+            current = next;
+        }
+        return root;
+    }
+
+    /**
+     * Merges the sets containing the two keys, adding either key first if it is new.
+     *
+     * @return true if two different sets were merged, false if the keys were already in the same set
+     */
+    public boolean union(K x, K y) {
+        return union(add(x), add(y));
+    }
+
+    /**
+     * Merges the sets containing the elements with the given ids.
+     *
+     * @return true if two different sets were merged, false if the elements were already in the same set
+     */
+    public boolean union(int x, int y) {
+        int xRoot = find(x);
+        int yRoot = find(y);
+        if (xRoot == yRoot) {
+            return false;
+        }
+        int xRank = getRank(xRoot);
+        int yRank = getRank(yRoot);
+        if (xRank < yRank) {
+            setParent(xRoot, yRoot);
+        } else if (xRank > yRank) {
+            setParent(yRoot, xRoot);
+        } else {
+            setParent(yRoot, xRoot);
+            rankChunks[xRoot >>> CHUNK_SHIFT][xRoot & CHUNK_MASK] = xRank + 1;
+        }
+        setCount--;
+        return true;
+    }
+
+    /**
+     * Checks whether the two keys are in the same set. Keys that have not been added
+     * are only connected to themselves.
+     */
+    public boolean connected(K x, K y) {
+        int xId = idOf(x);
+        int yId = idOf(y);
+        if (xId == -1 || yId == -1) {
+            return x.equals(y);
+        }
+        return find(xId) == find(yId);
+    }
+
+    private int getParent(int id) {
+        return parentChunks[id >>> CHUNK_SHIFT][id & CHUNK_MASK];
+    }
+
+    private void setParent(int id, int parent) {
+        parentChunks[id >>> CHUNK_SHIFT][id & CHUNK_MASK] = parent;
+    }
+
+    private int getRank(int id) {
+        return rankChunks[id >>> CHUNK_SHIFT][id & CHUNK_MASK];
+    }
+
+    // Appends one chunk; only the small arrays of chunk references are ever copied
+    private void addChunk() {
+        if (chunkCount == parentChunks.length) {
+            parentChunks = Arrays.copyOf(parentChunks, chunkCount * 2);
+            rankChunks = Arrays.copyOf(rankChunks, chunkCount * 2);
+        }
+        parentChunks[chunkCount] = new int[CHUNK_SIZE];
+        rankChunks[chunkCount] = new int[CHUNK_SIZE];
+        chunkCount++;
+    }
+}
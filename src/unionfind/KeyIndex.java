@@ -0,0 +1,110 @@
+package unionfind;
+
+import java.util.Arrays;
+
+/**
+ * Assigns dense integer ids (0, 1, 2, ...) to arbitrary keys in the order they are first seen.
+ * <p>
+ * The key-to-id mapping is an open-addressing hash table with linear probing whose ids are
+ * kept in a plain int array, so lookups and insertions do not create boxed Integer objects
+ * or map entries. The id-to-key direction is a simple array indexed by id.
+ *
+ * @param <K> the type of the keys
+ */
+class KeyIndex<K> {
+
+    private static final int EMPTY = -1;
+    private static final int INITIAL_CAPACITY = 16;
+
+    // Hash table slots: an id of EMPTY marks a free slot
+    private int[] slotIds;
+    // Keys in id order
+    private Object[] keys;
+    private int size;
+
+    KeyIndex() {
+        slotIds = new int[INITIAL_CAPACITY];
+        Arrays.fill(slotIds, EMPTY);
+        keys = new Object[INITIAL_CAPACITY];
+    }
+
+    /**
+     * Returns the number of keys registered so far.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Returns the id of the specified key, or -1 if the key has not been registered.
+     */
+    int idOf(K key) {
+        int mask = slotIds.length - 1;
+        for (int slot = spread(key.hashCode()) & mask; ; slot = (slot + 1) & mask) {
+            int id = slotIds[slot];
+            if (id == EMPTY) {
+                return -1;
+            }
+            if (keys[id].equals(key)) {
+                return id;
+            }
+        }
+    }
+
+    /**
+     * Returns the id of the specified key, registering it with the next free id if it is new.
+     */
+    int register(K key) {
+        int mask = slotIds.length - 1;
+        int slot = spread(key.hashCode()) & mask;
+        while (slotIds[slot] != EMPTY) {
+            if (keys[slotIds[slot]].equals(key)) {
+                return slotIds[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        int id = size++;
+        if (id == keys.length) {
+            keys = Arrays.copyOf(keys, keys.length * 2);
+        }
+        keys[id] = key;
+        slotIds[slot] = id;
+        // Keep the load factor at or below one half
+        if (size * 2 > slotIds.length) {
+            rehash();
+        }
+        return id;
+    }
+
+    /**
+     * Returns the key registered under the specified id.
+     */
+    @SuppressWarnings("unchecked")
+    K keyOf(int id) {
+        if (id < 0 || id >= size) {
+            throw new IllegalArgumentException("Id out of bounds");
+        }
+        return (K) keys[id];
+    }
+
+    // Doubles the slot table and re-inserts every id
+    private void rehash() {
+        int[] newSlotIds = new int[slotIds.length * 2];
+        Arrays.fill(newSlotIds, EMPTY);
+        int mask = newSlotIds.length - 1;
+        for (int id = 0; id < size; id++) {
+            int slot = spread(keys[id].hashCode()) & mask;
+            while (newSlotIds[slot] != EMPTY) {
+                slot = (slot + 1) & mask;
+            }
+            newSlotIds[slot] = id;
+        }
+        slotIds = newSlotIds;
+    }
+
+    // Mixes the high bits into the low ones, since the table index only uses the low bits
+    private static int spread(int hash) {
+        int h = hash * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
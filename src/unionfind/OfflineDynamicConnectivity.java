@@ -0,0 +1,226 @@
+package unionfind;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Answers connectivity queries over a sequence of edge insertions and deletions,
+ * when the whole sequence is known in advance (offline).
+ * <p>
+ * Every edge is alive during one time interval, from its insertion to its deletion.
+ * The intervals are stored in a segment tree over time, so each interval is split into
+ * O(log T) tree nodes, where T is the number of operations. A depth-first walk of the tree
+ * then unions the edges of each node on the way down and rolls them back on the way up using
+ * a {@link RollbackUnionFind}. When the walk reaches the leaf of a query, exactly the edges
+ * alive at that moment are united. The total running time is O(T log T log n).
+ */
+public class OfflineDynamicConnectivity {
+
+    private static final int ADD = 0;
+    private static final int REMOVE = 1;
+    private static final int QUERY = 2;
+
+    private final int vertexCount;
+
+    // The recorded operations, one entry per time step
+    private int[] types;
+    private int[] firstVertices;
+    private int[] secondVertices;
+    private int operationCount;
+    private int queryCount;
+
+    // Number of copies of every edge present at the end of the sequence, keyed by its endpoints
+    private final Map<Long, Integer> edgeCopies;
+
+    /**
+     * Constructs an empty operation sequence over the vertices 0 to 'vertexCount' - 1.
+     */
+    public OfflineDynamicConnectivity(int vertexCount) {
+        if (vertexCount < 0) {
+            throw new IllegalArgumentException("Vertex count cannot be negative");
+        }
+        this.vertexCount = vertexCount;
+        types = new int[16];
+        firstVertices = new int[16];
+        secondVertices = new int[16];
+        edgeCopies = new HashMap<>();
+    }
+
+    /**
+     * Records the insertion of an undirected edge between 'u' and 'v'.
+     * The same edge may be inserted several times; each copy must be removed separately.
+     */
+    public void addEdge(int u, int v) {
+        checkVertex(u);
+        checkVertex(v);
+        Long key = edgeKey(u, v);
+        Integer copies = edgeCopies.get(key);
+        edgeCopies.put(key, copies == null ? 1 : copies + 1);
+        record(ADD, u, v);
+    }
+
+    /**
+     * Records the removal of one copy of the undirected edge between 'u' and 'v'.
+     *
+     * @throws IllegalArgumentException if the edge is not present at this point of the sequence
+     */
+    public void removeEdge(int u, int v) {
+        checkVertex(u);
+        checkVertex(v);
+        Long key = edgeKey(u, v);
+        Integer copies = edgeCopies.get(key);
+        if (copies == null) {
+            throw new IllegalArgumentException("Edge is not present in the graph.");
+        }
+        if (copies == 1) {
+            edgeCopies.remove(key);
+        } else {
+            edgeCopies.put(key, copies - 1);
+        }
+        record(REMOVE, u, v);
+    }
+
+    /**
+     * Records a query asking whether 'u' and 'v' are connected at this point of the sequence.
+     *
+     * @return the index of the query in the array returned by {@link #solve()}
+     */
+    public int query(int u, int v) {
+        checkVertex(u);
+        checkVertex(v);
+        record(QUERY, u, v);
+        return queryCount++;
+    }
+
+    /**
+     * Answers all recorded queries.
+     *
+     * @return the answer to every query, in the order the queries were recorded
+     */
+    public boolean[] solve() {
+        boolean[] answers = new boolean[queryCount];
+        if (operationCount == 0) {
+            return answers;
+        }
+
+        // Step 1: Turn every insertion into an interval [start, end) of operation indices
+        int[] ends = new int[operationCount];
+        Arrays.fill(ends, operationCount); // Edges that are never removed live until the end
+        Map<Long, Deque<Integer>> alive = new HashMap<>();
+        for (int t = 0; t < operationCount; t++) {
+            Long key = edgeKey(firstVertices[t], secondVertices[t]);
+            if (types[t] == ADD) {
+                Deque<Integer> insertions = alive.get(key);
+                if (insertions == null) {
+                    insertions = new ArrayDeque<>();
+                    alive.put(key, insertions);
+                }
+                insertions.push(t);
+            } else if (types[t] == REMOVE) {
+                ends[alive.get(key).pop()] = t;
+            }
+        }
+
+        // Step 2: Distribute the intervals over the segment tree nodes.
+        // The first pass counts the edges per node, the second fills a shared array.
+        int nodeCount = 4 * operationCount;
+        int[] offsets = new int[nodeCount + 1];
+        for (int t = 0; t < operationCount; t++) {
+            if (types[t] == ADD) {
+                countInterval(offsets, 1, 0, operationCount, t, ends[t]);
+            }
+        }
+        for (int node = 0; node < nodeCount; node++) {
+            offsets[node + 1] += offsets[node];
+        }
+        int[] next = Arrays.copyOf(offsets, nodeCount);
+        int[] nodeEdges = new int[offsets[nodeCount]];
+        for (int t = 0; t < operationCount; t++) {
+            if (types[t] == ADD) {
+                fillInterval(next, nodeEdges, 1, 0, operationCount, t, ends[t]);
+            }
+        }
+
+        // Step 3: Walk the tree, uniting edges on the way down and rolling back on the way up
+        RollbackUnionFind unionFind = new RollbackUnionFind(vertexCount);
+        int[] queryIndex = {0};
+        walk(unionFind, offsets, nodeEdges, answers, queryIndex, 1, 0, operationCount);
+        return answers;
+    }
+
+    // Counts the edge alive in [start, end) in every node that the interval fully covers.
+    // The counts are stored shifted by one so that the prefix sums become the start offsets.
+    private void countInterval(int[] offsets, int node, int low, int high, int start, int end) {
+        if (end <= low || high <= start) {
+            return;
+        }
+        if (start <= low && high <= end) {
+            offsets[node + 1]++;
+            return;
+        }
+        int middle = (low + high) >>> 1;
+        countInterval(offsets, 2 * node, low, middle, start, end);
+        countInterval(offsets, 2 * node + 1, middle, high, start, end);
+    }
+
+    // Stores the operation index of the insertion 'start' in every node that the interval fully covers
+    private void fillInterval(int[] next, int[] nodeEdges, int node, int low, int high, int start, int end) {
+        if (end <= low || high <= start) {
+            return;
+        }
+        if (start <= low && high <= end) {
+            nodeEdges[next[node]++] = start;
+            return;
+        }
+        int middle = (low + high) >>> 1;
+        fillInterval(next, nodeEdges, 2 * node, low, middle, start, end);
+        fillInterval(next, nodeEdges, 2 * node + 1, middle, high, start, end);
+    }
+
+    private void walk(RollbackUnionFind unionFind, int[] offsets, int[] nodeEdges, boolean[] answers,
+                      int[] queryIndex, int node, int low, int high) {
+        int checkpoint = unionFind.checkpoint();
+        for (int i = offsets[node]; i < offsets[node + 1]; i++) {
+            int insertion = nodeEdges[i];
+            unionFind.union(firstVertices[insertion], secondVertices[insertion]);
+        }
+        if (high - low == 1) {
+            if (types[low] == QUERY) {
+                answers[queryIndex[0]++] = unionFind.connected(firstVertices[low], secondVertices[low]);
+            }
+        } else {
+            int middle = (low + high) >>> 1;
+            walk(unionFind, offsets, nodeEdges, answers, queryIndex, 2 * node, low, middle);
+            walk(unionFind, offsets, nodeEdges, answers, queryIndex, 2 * node + 1, middle, high);
+        }
+        unionFind.rollback(checkpoint);
+    }
+
+    private void record(int type, int u, int v) {
+        if (operationCount == types.length) {
+            types = Arrays.copyOf(types, operationCount * 2);
+            firstVertices = Arrays.copyOf(firstVertices, operationCount * 2);
+            secondVertices = Arrays.copyOf(secondVertices, operationCount * 2);
+        }
+        types[operationCount] = type;
+        firstVertices[operationCount] = u;
+        secondVertices[operationCount] = v;
+        operationCount++;
+    }
+
+    // Builds a key that is the same for (u, v) and (v, u), since edges are undirected
+    private static long edgeKey(int u, int v) {
+        int low = Math.min(u, v);
+        int high = Math.max(u, v);
+        return ((long) low << 32) | high;
+    }
+
+    private void checkVertex(int vertex) {
+        if (vertex < 0 || vertex >= vertexCount) {
+            throw new IllegalArgumentException("Vertex out of bounds");
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package unionfind;
+
+import java.util.Arrays;
+
+/**
+ * Implements a union-find data structure whose unions can be undone.
+ * <p>
+ * Path compression rewrites many parent links during a single find, which would make
+ * undoing a union expensive. This variant therefore uses union by rank only: every union
+ * changes exactly one parent link (and possibly one rank), which is recorded on an undo stack.
+ * Without compression the tree height stays logarithmic, so find runs in O(log n).
+ * <p>
+ * Typical usage is to take a {@link #checkpoint()}, perform some unions, and then
+ * {@link #rollback(int)} to the checkpoint to restore the earlier state.
+ */
+public class RollbackUnionFind {
+
+    private final int[] parent;
+    private final int[] rank;
+    private int setCount;
+
+    // Undo stack: the root that was attached below another root by each successful union.
+    // The rank flag records whether the union also incremented the new root's rank.
+    private int[] attachedRoots;
+    private boolean[] rankIncremented;
+    private int historySize;
+
+    /**
+     * Initializes the structure with a specified number of elements.
+     * Each element is initially in its own set.
+     */
+    public RollbackUnionFind(int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("Element count cannot be negative");
+        }
+        parent = new int[count];
+        rank = new int[count];
+        for (int i = 0; i < count; i++) {
+            parent[i] = i;
+        }
+        setCount = count;
+        attachedRoots = new int[16];
+        rankIncremented = new boolean[16];
+    }
+
+    /**
+     * Finds the representative (root) of the set containing 'element'.
+     * The structure is not modified.
+     */
+    public int find(int element) {
+        if (element < 0 || element >= parent.length) {
+            throw new IllegalArgumentException("Element out of bounds");
+        }
+        while (parent[element] != element) {
+            element = parent[element];
+        }
+        return element;
+    }
+
+    /**
+     * Merges the sets containing elements 'x' and 'y'.
+     *
+     * @return true if two different sets were merged, false if they were already in the same set
+     */
+    public boolean union(int x, int y) {
+        int xRoot = find(x);
+        int yRoot = find(y);
+        if (xRoot == yRoot) {
+            return false;
+        }
+        if (rank[xRoot] < rank[yRoot]) {
+            int temp = xRoot;
+            xRoot = yRoot;
+            yRoot = temp;
+        }
+        // 'yRoot' is attached below 'xRoot', which has the greater or equal rank
+        boolean increment = rank[xRoot] == rank[yRoot];
+        parent[yRoot] = xRoot;
+        if (increment) {
+            rank[xRoot]++;
+        }
+        setCount--;
+        push(yRoot, increment);
+        return true;
+    }
+
+    /**
+     * Checks whether elements 'x' and 'y' are in the same set.
+     */
+    public boolean connected(int x, int y) {
+        return find(x) == find(y);
+    }
+
+    /**
+     * Returns the number of disjoint sets.
+     */
+    public int getSetCount() {
+        return setCount;
+    }
+
+    /**
+     * Returns a marker of the current state that can later be passed to {@link #rollback(int)}.
+     */
+    public int checkpoint() {
+        return historySize;
+    }
+
+    /**
+     * Undoes every successful union performed after the specified checkpoint,
+     * most recent first. Each undone union takes O(1) time.
+     *
+     * @throws IllegalArgumentException if the checkpoint is not a valid earlier state
+     */
+    public void rollback(int checkpoint) {
+        if (checkpoint < 0 || checkpoint > historySize) {
+            throw new IllegalArgumentException("Invalid checkpoint");
+        }
+        while (historySize > checkpoint) {
+            historySize--;
+            int child = attachedRoots[historySize];
+            int root = parent[child];
+            parent[child] = child;
+            if (rankIncremented[historySize]) {
+                rank[root]--;
+            }
+            setCount++;
+        }
+    }
+
+    private void push(int attachedRoot, boolean increment) {
+        if (historySize == attachedRoots.length) {
+            attachedRoots = Arrays.copyOf(attachedRoots, historySize * 2);
+            rankIncremented = Arrays.copyOf(rankIncremented, historySize * 2);
+        }
+        attachedRoots[historySize] = attachedRoot;
+        rankIncremented[historySize] = increment;
+        historySize++;
+    }
+}
@@ -1,5 +1,7 @@
 package unionfind;
 
+import java.util.Arrays;
+
 /**
  * Implements the union-find data structure (also known as disjoint-set).
  * This implementation uses path compression in the find operation.
@@ -70,4 +72,46 @@ public class UnionFind {
             }
         }
     }
+
+    /**
+     * Groups all elements by their set in a single pass.
+     * <p>
+     * The grouping is a counting sort keyed by root: one pass finds each element's
+     * root and counts the set sizes, prefix sums turn the counts into offsets, and a
+     * second pass places every element into its slot. No per-set collections are created.
+     * Components are numbered in the order in which their smallest element appears.
+     *
+     * @return the members of every set in a compressed layout
+     */
+    public Components components() {
+        int count = sets.length;
+        // Maps a root to its component index, or -1 while the root has not been seen
+        int[] componentOfRoot = new int[count];
+        Arrays.fill(componentOfRoot, -1);
+        int[] componentOf = new int[count];
+        int[] sizes = new int[count];
+        int componentCount = 0;
+
+        for (int i = 0; i < count; i++) {
+            int root = find(i);
+            if (componentOfRoot[root] == -1) {
+                componentOfRoot[root] = componentCount++;
+            }
+            componentOf[i] = componentOfRoot[root];
+            sizes[componentOf[i]]++;
+        }
+
+        int[] offsets = new int[componentCount + 1];
+        for (int c = 0; c < componentCount; c++) {
+            offsets[c + 1] = offsets[c] + sizes[c];
+        }
+
+        // Reuse 'sizes' as the next free position of every component
+        System.arraycopy(offsets, 0, sizes, 0, componentCount);
+        int[] members = new int[count];
+        for (int i = 0; i < count; i++) {
+            members[sizes[componentOf[i]]++] = i;
+        }
+        return new Components(offsets, members, componentOf);
+    }
 }
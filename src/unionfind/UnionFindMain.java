@@ -1,5 +1,7 @@
 package unionfind;
 
+import java.util.Arrays;
+
 public class UnionFindMain {
     public static void main(String[] args) {
         // Initialize UnionFind with 10 elements
@@ -31,5 +33,39 @@ public class UnionFindMain {
         setX = uf.find(1);
         setY = uf.find(6);
         System.out.println("Elements 1 and 6 are in the same set: " + (setX == setY));
+
+        // Enumerate the members of every set at once
+        Components components = uf.components();
+        for (int c = 0; c < components.getComponentCount(); c++) {
+            System.out.println("Component " + c + ": " + Arrays.toString(components.getMembers(c)));
+        }
+        System.out.println("Largest component: " + components.getLargestComponent());
+        System.out.println("Size histogram: " + Arrays.toString(components.getSizeHistogram()));
+
+        // The concurrent variant processes a whole edge array in parallel
+        ConcurrentUnionFind concurrentUf = new ConcurrentUnionFind(10);
+        int[] sources = {0, 2, 4, 6, 7, 0, 5};
+        int[] destinations = {1, 3, 5, 7, 8, 9, 9};
+        concurrentUf.unionAll(sources, destinations);
+        System.out.println("Concurrent: elements 1 and 4 are in the same set: " + concurrentUf.connected(1, 4));
+        System.out.println("Concurrent: elements 1 and 6 are in the same set: " + concurrentUf.connected(1, 6));
+
+        // The growable variant registers keys on first sight
+        GrowableUnionFind<String> names = new GrowableUnionFind<>();
+        names.union("alice", "a.smith");
+        names.union("bob", "robert");
+        names.union("a.smith", "alice.smith");
+        System.out.println("Growable: alice and alice.smith are the same: " + names.connected("alice", "alice.smith"));
+        System.out.println("Growable: alice and bob are the same: " + names.connected("alice", "bob"));
+        System.out.println("Growable: " + names.size() + " keys in " + names.getSetCount() + " sets");
+
+        // The rollback variant can undo unions performed after a checkpoint
+        RollbackUnionFind rollbackUf = new RollbackUnionFind(10);
+        rollbackUf.union(0, 1);
+        int checkpoint = rollbackUf.checkpoint();
+        rollbackUf.union(1, 2);
+        System.out.println("Rollback: elements 0 and 2 before rollback: " + rollbackUf.connected(0, 2));
+        rollbackUf.rollback(checkpoint);
+        System.out.println("Rollback: elements 0 and 2 after rollback: " + rollbackUf.connected(0, 2));
     }
 }